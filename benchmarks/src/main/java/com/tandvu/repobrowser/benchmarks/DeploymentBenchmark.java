@@ -0,0 +1,91 @@
+package com.tandvu.repobrowser.benchmarks;
+
+import com.tandvu.repobrowser.service.DeploymentIndex;
+import com.tandvu.repobrowser.service.DeploymentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WAR file parsing and the deployment-version mapping over a deployment directory of N WAR files
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeploymentBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int warFiles;
+
+    private List<String> warFileNames;
+    private Map<String, Long> warModified;
+    private List<String> repositoryNames;
+    private DeploymentIndex index;
+    private WorkspaceGenerator.Workspace workspace;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // Every repository deployed, so the directory holds warFiles WARs (plus opt-soa)
+        WorkspaceGenerator.Spec spec = WorkspaceGenerator.Spec.of(warFiles);
+        spec = new WorkspaceGenerator.Spec(spec.repositories(), spec.seed(), 1.0, spec.outdatedFraction(),
+            0.0, false, 0);
+        workspace = WorkspaceGenerator.generate(spec);
+        warFileNames = workspace.warFileNames();
+        warModified = new HashMap<>();
+        long modified = System.currentTimeMillis();
+        for (String name : warFileNames) {
+            warModified.put(name, modified);
+        }
+        repositoryNames = workspace.repositoryNames();
+        index = DeploymentIndex.fromWarFiles(warModified);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() throws IOException {
+        workspace.delete();
+    }
+
+    @Benchmark
+    public void extractVersionFromWarFile(Blackhole blackhole) {
+        for (String name : warFileNames) {
+            blackhole.consume(DeploymentService.extractVersionFromWarFile(name));
+        }
+    }
+
+    @Benchmark
+    public DeploymentIndex buildIndex() {
+        return DeploymentIndex.fromWarFiles(warModified);
+    }
+
+    @Benchmark
+    public void lookupAll(Blackhole blackhole) {
+        for (String name : repositoryNames) {
+            blackhole.consume(index.lookup(name));
+        }
+    }
+
+    @Benchmark
+    public DeploymentIndex scanDirectory() {
+        return DeploymentIndex.scan(workspace.deployment());
+    }
+}
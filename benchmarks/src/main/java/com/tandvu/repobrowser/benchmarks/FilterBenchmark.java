@@ -0,0 +1,68 @@
+package com.tandvu.repobrowser.benchmarks;
+
+import com.tandvu.repobrowser.service.FilterQuery;
+import com.tandvu.repobrowser.service.RepositoryNameMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter pipeline of the repository table: parsing a pasted release list, building the name
+ * index after a scan, and matching the list against N repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int repositories;
+
+    private List<String> names;
+    private String filterText;
+    private FilterQuery query;
+    private RepositoryNameMatcher matcher;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        names = WorkspaceGenerator.repositoryNames(repositories);
+        filterText = WorkspaceGenerator.filterText(names);
+        query = FilterQuery.parse(filterText);
+        matcher = new RepositoryNameMatcher(names);
+    }
+
+    @Benchmark
+    public FilterQuery parse() {
+        return FilterQuery.parse(filterText);
+    }
+
+    @Benchmark
+    public RepositoryNameMatcher buildMatcher() {
+        return new RepositoryNameMatcher(names);
+    }
+
+    @Benchmark
+    public String[] evaluate() {
+        return query.evaluate(matcher);
+    }
+
+    @Benchmark
+    public String[] parseAndEvaluate() {
+        return FilterQuery.parse(filterText).evaluate(matcher);
+    }
+}
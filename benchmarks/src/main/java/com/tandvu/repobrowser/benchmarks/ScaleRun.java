@@ -0,0 +1,109 @@
+package com.tandvu.repobrowser.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tandvu.repobrowser.model.RepositorySnapshot;
+import com.tandvu.repobrowser.model.VersionMismatch;
+import com.tandvu.repobrowser.service.DeploymentIndex;
+import com.tandvu.repobrowser.service.FilterQuery;
+import com.tandvu.repobrowser.service.RepositoryNameMatcher;
+import com.tandvu.repobrowser.service.RepositoryScanner;
+import com.tandvu.repobrowser.service.VersionReportWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * End-to-end scale run: generates workspaces of increasing size and times the same steps the
+ * application runs on startup and when a release list is pasted (scan, deployment index,
+ * filter, version report). Single cold pass per size, unlike the JMH benchmarks; prints JSON.
+ *
+ * Usage: java -cp benchmarks.jar com.tandvu.repobrowser.benchmarks.ScaleRun [repositories...]
+ */
+public final class ScaleRun {
+
+    private ScaleRun() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Integer> sizes = new ArrayList<>();
+        for (String arg : args) {
+            sizes.add(Integer.parseInt(arg));
+        }
+        if (sizes.isEmpty()) {
+            sizes = List.of(100, 1000, 10000);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int size : sizes) {
+            results.add(run(size));
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(System.out, results);
+    }
+
+    private static Map<String, Object> run(int size) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("repositories", size);
+
+        long start = System.nanoTime();
+        WorkspaceGenerator.Workspace workspace = WorkspaceGenerator.generate(WorkspaceGenerator.Spec.of(size));
+        result.put("generateMillis", millisSince(start));
+        try {
+            RepositoryScanner scanner = new RepositoryScanner();
+
+            start = System.nanoTime();
+            List<RepositorySnapshot> repositories = new ArrayList<>(scanner.scanForRepositories(workspace.repositories()));
+            repositories.add(scanner.scanSoaRepository(workspace.soa().resolve("opt-soa")));
+            repositories.sort((r1, r2) -> r1.name().compareToIgnoreCase(r2.name()));
+            result.put("scanMillis", millisSince(start));
+
+            start = System.nanoTime();
+            DeploymentIndex deploymentIndex = DeploymentIndex.scan(workspace.deployment());
+            result.put("deploymentIndexMillis", millisSince(start));
+            result.put("deployedRepositories", deploymentIndex.size());
+
+            // Release list targeting the current version of every other repository
+            StringBuilder releaseList = new StringBuilder();
+            for (int i = 0; i < repositories.size(); i += 2) {
+                releaseList.append(repositories.get(i).name()).append('\t').append(repositories.get(i).repoVersion()).append('\n');
+            }
+
+            start = System.nanoTime();
+            List<String> names = repositories.stream().map(RepositorySnapshot::name).toList();
+            RepositoryNameMatcher matcher = new RepositoryNameMatcher(names);
+            String[] targeted = FilterQuery.parse(releaseList.toString()).evaluate(matcher);
+            result.put("filterMillis", millisSince(start));
+
+            start = System.nanoTime();
+            int mismatches = 0;
+            try (VersionReportWriter report = VersionReportWriter.open(Writer.nullWriter(), VersionReportWriter.Format.JSON)) {
+                for (int i = 0; i < repositories.size(); i++) {
+                    RepositorySnapshot repo = repositories.get(i);
+                    DeploymentIndex.DeployedArtifact artifact = deploymentIndex.lookup(repo.name());
+                    VersionReportWriter.Row row = VersionReportWriter.Row.of(repo.name(), repo.path(), false, repo.repoVersion(),
+                        targeted[i] != null ? targeted[i] : "", artifact != null ? artifact.version() : "",
+                        artifact != null ? artifact.modified() : "");
+                    report.write(row);
+                    if (row.mismatch() != VersionMismatch.NONE) {
+                        mismatches++;
+                    }
+                }
+            }
+            result.put("reportMillis", millisSince(start));
+            result.put("scannedRepositories", repositories.size());
+            result.put("mismatches", mismatches);
+        } finally {
+            workspace.delete();
+        }
+        System.err.println("Completed " + size + " repositories");
+        return result;
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
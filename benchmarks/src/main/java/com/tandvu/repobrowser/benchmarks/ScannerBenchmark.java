@@ -0,0 +1,66 @@
+package com.tandvu.repobrowser.benchmarks;
+
+import com.tandvu.repobrowser.model.RepositorySnapshot;
+import com.tandvu.repobrowser.service.RepositoryScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository scan over a generated workspace of N repositories, and version detection of each repository.
+ * The file system cache is warm after the first iteration, so this measures the CPU side of the scan.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScannerBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int repositories;
+
+    private final RepositoryScanner scanner = new RepositoryScanner();
+    private WorkspaceGenerator.Workspace workspace;
+    private List<Path> repositoryPaths;
+
+    @Setup(Level.Trial)
+    public void createWorkspace() throws IOException {
+        workspace = WorkspaceGenerator.generate(WorkspaceGenerator.Spec.of(repositories));
+        repositoryPaths = workspace.repositoryNames().stream().map(workspace.repositories()::resolve).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteWorkspace() throws IOException {
+        workspace.delete();
+    }
+
+    @Benchmark
+    public List<RepositorySnapshot> scanForRepositories() throws IOException {
+        return scanner.scanForRepositories(workspace.repositories());
+    }
+
+    @Benchmark
+    public void detectRepositoryVersion(Blackhole blackhole) {
+        for (Path repo : repositoryPaths) {
+            blackhole.consume(scanner.detectRepositoryVersion(repo));
+        }
+    }
+}
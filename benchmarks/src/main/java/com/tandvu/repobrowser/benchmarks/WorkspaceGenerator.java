@@ -0,0 +1,357 @@
+package com.tandvu.repobrowser.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Writes a fake AMPT workspace for scale testing: N repositories with package.json, pom.xml or
+ * build.gradle of realistic size, .git metadata and nested modules, an SOA directory, and a
+ * deployment directory of versioned ampt-*, opt-soa-* and webmap* WAR files.
+ * Output is deterministic for a given spec.
+ *
+ * Usage: java -cp benchmarks.jar com.tandvu.repobrowser.benchmarks.WorkspaceGenerator &lt;dir&gt; [repositories] [seed]
+ */
+public final class WorkspaceGenerator {
+
+    private static final String[] WORDS = {
+        "orgchart", "personnel", "training", "readiness", "logistics", "finance", "reporting", "admin",
+        "scheduler", "inventory", "audit", "portal", "messaging", "search", "profile", "workflow",
+        "documents", "analytics", "billing", "security", "catalog", "notifications", "calendar", "assets"
+    };
+
+    private static final String[] NPM_DEPENDENCIES = {
+        "react", "react-dom", "react-router-dom", "redux", "@reduxjs/toolkit", "axios", "lodash", "moment",
+        "classnames", "prop-types", "formik", "yup", "date-fns", "uuid", "@mui/material", "@emotion/react"
+    };
+
+    private static final String[] NPM_DEV_DEPENDENCIES = {
+        "webpack", "webpack-cli", "babel-loader", "@babel/core", "@babel/preset-env", "@babel/preset-react",
+        "eslint", "prettier", "jest", "css-loader", "style-loader", "html-webpack-plugin", "typescript"
+    };
+
+    private static final String[] MAVEN_DEPENDENCIES = {
+        "org.springframework:spring-webmvc", "org.springframework:spring-jdbc", "com.fasterxml.jackson.core:jackson-databind",
+        "org.hibernate:hibernate-core", "org.slf4j:slf4j-api", "ch.qos.logback:logback-classic", "commons-io:commons-io",
+        "org.apache.commons:commons-lang3", "javax.servlet:javax.servlet-api", "junit:junit", "org.mockito:mockito-core"
+    };
+
+    /**
+     * What to generate
+     *
+     * @param repositories Number of repositories
+     * @param seed Random seed
+     * @param deployedFraction Fraction of repositories with a WAR in the deployment directory
+     * @param outdatedFraction Fraction of deployed WARs with an older version than the repository
+     * @param nestedFraction Fraction of repositories with nested sub-modules
+     * @param gitMetadata Whether to write .git directories
+     * @param warBytes Size of each WAR file
+     */
+    public record Spec(int repositories, long seed, double deployedFraction, double outdatedFraction,
+                       double nestedFraction, boolean gitMetadata, int warBytes) {
+
+        /**
+         * Defaults: 80% deployed, a quarter of those outdated, 20% nested, with .git, 1 KB WARs
+         */
+        public static Spec of(int repositories) {
+            return new Spec(repositories, 42L, 0.8, 0.25, 0.2, true, 1024);
+        }
+
+        public Spec withSeed(long seed) {
+            return new Spec(repositories, seed, deployedFraction, outdatedFraction, nestedFraction, gitMetadata, warBytes);
+        }
+    }
+
+    /**
+     * A generated workspace
+     *
+     * @param root Directory holding everything below
+     * @param repositories Repository path (one directory per repository)
+     * @param soa SOA path (contains opt-soa)
+     * @param deployment Deployment path with the WAR files
+     * @param repositoryNames Names of the generated repositories, sorted
+     * @param warFileNames Names of the generated WAR files
+     */
+    public record Workspace(Path root, Path repositories, Path soa, Path deployment,
+                            List<String> repositoryNames, List<String> warFileNames) {
+
+        /**
+         * Delete the workspace from disk
+         */
+        public void delete() throws IOException {
+            deleteRecursively(root);
+        }
+    }
+
+    private WorkspaceGenerator() {
+    }
+
+    /**
+     * Generate a workspace in a new temporary directory
+     */
+    public static Workspace generate(Spec spec) throws IOException {
+        return generate(Files.createTempDirectory("repo-browser-workspace-"), spec);
+    }
+
+    /**
+     * Generate a workspace below a directory
+     *
+     * @param root Target directory, created if missing
+     * @param spec What to generate
+     * @return The generated workspace
+     */
+    public static Workspace generate(Path root, Spec spec) throws IOException {
+        Random random = new Random(spec.seed());
+        Path repositories = Files.createDirectories(root.resolve("AMPT"));
+        Path soa = Files.createDirectories(root.resolve("AMPT_DEV").resolve("TRMC_MODULE"));
+        Path deployment = Files.createDirectories(root.resolve("OPT"));
+
+        List<String> names = repositoryNames(spec.repositories());
+        List<String> warFiles = new ArrayList<>();
+        byte[] warContent = new byte[spec.warBytes()];
+        random.nextBytes(warContent);
+
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            String version = version(i);
+            Path repo = Files.createDirectory(repositories.resolve(name));
+            writeRepository(repo, name, version, i, random, spec);
+
+            if (random.nextDouble() < spec.deployedFraction()) {
+                String deployedVersion = random.nextDouble() < spec.outdatedFraction() ? previousVersion(version) : version;
+                String warFile = warFileName(name, deployedVersion);
+                Files.write(deployment.resolve(warFile), warContent);
+                warFiles.add(warFile);
+            }
+        }
+
+        // opt-soa lives under the SOA path with its version in a sub-module
+        Path optSoa = Files.createDirectories(soa.resolve("opt-soa"));
+        Path soaModule = Files.createDirectories(optSoa.resolve("SOA"));
+        Files.writeString(soaModule.resolve("pom.xml"), pomXml("opt-soa", "5.2.0", random, false));
+        Files.createDirectories(soaModule.resolve("target"));
+        String soaWar = "opt-soa-5.1.0.war";
+        Files.write(deployment.resolve(soaWar), warContent);
+        warFiles.add(soaWar);
+
+        // Things a real workspace and deployment directory also contain
+        Files.createDirectories(repositories.resolve(".idea"));
+        Files.createDirectories(repositories.resolve("scratch"));
+        Files.writeString(repositories.resolve("notes.txt"), "workspace notes\n");
+        Files.writeString(deployment.resolve("server.log"), "INFO started\n");
+        Files.write(deployment.resolve("ampt-legacy-1.0.0.war.bak"), warContent);
+
+        return new Workspace(root, repositories, soa, deployment, names, warFiles);
+    }
+
+    /**
+     * Repository names as found in the workspace: opt-&lt;word&gt;[-&lt;word&gt;][-n], plus webmap and
+     * webmap-data-service, sorted case-insensitively like the scanner does
+     */
+    public static List<String> repositoryNames(int count) {
+        List<String> names = new ArrayList<>(count);
+        if (count > 0) {
+            names.add("webmap");
+        }
+        if (count > 1) {
+            names.add("webmap-data-service");
+        }
+        for (int i = 0; names.size() < count; i++) {
+            String name = "opt-" + WORDS[i % WORDS.length];
+            int combination = i / WORDS.length;
+            if (combination > 0) {
+                name += "-" + WORDS[combination % WORDS.length];
+            }
+            int round = combination / WORDS.length;
+            if (round > 0) {
+                name += "-" + round;
+            }
+            names.add(name);
+        }
+        names.sort(String::compareToIgnoreCase);
+        return names;
+    }
+
+    /**
+     * Version of the i-th repository
+     */
+    public static String version(int i) {
+        return (1 + i % 5) + "." + (i % 17) + "." + (i % 7);
+    }
+
+    /**
+     * WAR file name the build of a repository produces
+     */
+    public static String warFileName(String repositoryName, String version) {
+        if (repositoryName.startsWith("opt-")) {
+            return "ampt-" + repositoryName.substring(4) + "-" + version + ".war";
+        }
+        return repositoryName + "-" + version + ".war";
+    }
+
+    /**
+     * Filter text as pasted from the release page: name&lt;TAB&gt;version per line, for every other repository
+     */
+    public static String filterText(List<String> repositoryNames) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < repositoryNames.size(); i += 2) {
+            text.append(repositoryNames.get(i)).append('\t').append(version(i)).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static void writeRepository(Path repo, String name, String version, int index, Random random, Spec spec) throws IOException {
+        // Frontends are npm projects; every third repository is Maven, every seventh Gradle
+        if (index % 7 == 6) {
+            Files.writeString(repo.resolve("build.gradle"), buildGradle(version, random));
+        } else if (index % 3 == 2) {
+            Files.writeString(repo.resolve("pom.xml"), pomXml(name, version, random, true));
+        } else {
+            Files.writeString(repo.resolve("package.json"), packageJson(name, version, random));
+        }
+        Files.writeString(repo.resolve("README.md"), "# " + name + "\n\nVersion " + version + "\n");
+        Files.writeString(repo.resolve(".gitignore"), "node_modules/\ntarget/\ndist/\n");
+        Path src = Files.createDirectories(repo.resolve("src").resolve("main"));
+        Files.writeString(src.resolve("index.js"), "export default function main() {}\n");
+
+        if (spec.gitMetadata()) {
+            writeGitMetadata(repo, random);
+        }
+        if (random.nextDouble() < spec.nestedFraction()) {
+            // Nested sub-modules with their own version files
+            for (String module : new String[] {"client", "server"}) {
+                Path moduleDir = Files.createDirectories(repo.resolve("modules").resolve(module));
+                Files.writeString(moduleDir.resolve("package.json"), packageJson(name + "-" + module, version, random));
+            }
+        }
+    }
+
+    private static void writeGitMetadata(Path repo, Random random) throws IOException {
+        Path git = Files.createDirectories(repo.resolve(".git"));
+        Files.writeString(git.resolve("HEAD"), "ref: refs/heads/master\n");
+        Files.writeString(git.resolve("config"), "[core]\n\trepositoryformatversion = 0\n\tfilemode = false\n\tbare = false\n"
+            + "[remote \"origin\"]\n\turl = https://git.example.com/ampt/" + repo.getFileName() + ".git\n"
+            + "\tfetch = +refs/heads/*:refs/remotes/origin/*\n[branch \"master\"]\n\tremote = origin\n\tmerge = refs/heads/master\n");
+        Path heads = Files.createDirectories(git.resolve("refs").resolve("heads"));
+        Files.writeString(heads.resolve("master"), randomHex(random, 40) + "\n");
+        Files.createDirectories(git.resolve("objects").resolve("pack"));
+        Files.createDirectories(git.resolve("refs").resolve("tags"));
+    }
+
+    private static String packageJson(String name, String version, Random random) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n  \"name\": \"").append(name).append("\",\n");
+        json.append("  \"version\": \"").append(version).append("\",\n");
+        json.append("  \"private\": true,\n");
+        json.append("  \"scripts\": {\n    \"start\": \"webpack serve --mode development\",\n")
+            .append("    \"build\": \"webpack --mode production\",\n    \"test\": \"jest\",\n    \"lint\": \"eslint src\"\n  },\n");
+        appendNpmDependencies(json, "dependencies", NPM_DEPENDENCIES, random);
+        json.append(",\n");
+        appendNpmDependencies(json, "devDependencies", NPM_DEV_DEPENDENCIES, random);
+        json.append("\n}\n");
+        return json.toString();
+    }
+
+    private static void appendNpmDependencies(StringBuilder json, String section, String[] packages, Random random) {
+        json.append("  \"").append(section).append("\": {\n");
+        int count = packages.length / 2 + random.nextInt(packages.length / 2 + 1);
+        for (int i = 0; i < count; i++) {
+            json.append("    \"").append(packages[i]).append("\": \"^")
+                .append(1 + random.nextInt(18)).append('.').append(random.nextInt(10)).append('.').append(random.nextInt(20)).append('"');
+            json.append(i < count - 1 ? ",\n" : "\n");
+        }
+        json.append("  }");
+    }
+
+    private static String pomXml(String name, String version, Random random, boolean withParent) {
+        StringBuilder pom = new StringBuilder();
+        pom.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n");
+        pom.append("    <modelVersion>4.0.0</modelVersion>\n");
+        pom.append("    <groupId>mil.ampt</groupId>\n    <artifactId>").append(name).append("</artifactId>\n");
+        pom.append("    <version>").append(version).append("</version>\n    <packaging>war</packaging>\n");
+        if (withParent) {
+            // Parent after the project version, so the scanner's first-<version> rule reads the project version
+            pom.append("    <parent>\n        <groupId>mil.ampt</groupId>\n        <artifactId>ampt-parent</artifactId>\n")
+                .append("        <version>3.0.0</version>\n    </parent>\n");
+        }
+        pom.append("    <properties>\n        <java.version>17</java.version>\n")
+            .append("        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>\n    </properties>\n");
+        pom.append("    <dependencies>\n");
+        int count = MAVEN_DEPENDENCIES.length / 2 + random.nextInt(MAVEN_DEPENDENCIES.length / 2 + 1);
+        for (int i = 0; i < count; i++) {
+            String[] coordinates = MAVEN_DEPENDENCIES[i].split(":");
+            pom.append("        <dependency>\n            <groupId>").append(coordinates[0]).append("</groupId>\n")
+                .append("            <artifactId>").append(coordinates[1]).append("</artifactId>\n")
+                .append("            <version>").append(1 + random.nextInt(6)).append('.').append(random.nextInt(10)).append('.')
+                .append(random.nextInt(20)).append("</version>\n        </dependency>\n");
+        }
+        pom.append("    </dependencies>\n");
+        pom.append("    <build>\n        <finalName>").append(name).append('-').append(version).append("</finalName>\n    </build>\n");
+        pom.append("</project>\n");
+        return pom.toString();
+    }
+
+    private static String buildGradle(String version, Random random) {
+        StringBuilder gradle = new StringBuilder();
+        gradle.append("plugins {\n    id 'java'\n    id 'war'\n}\n\n");
+        gradle.append("group = 'mil.ampt'\nversion = '").append(version).append("'\n\n");
+        gradle.append("repositories {\n    mavenCentral()\n}\n\ndependencies {\n");
+        int count = MAVEN_DEPENDENCIES.length / 2 + random.nextInt(MAVEN_DEPENDENCIES.length / 2 + 1);
+        for (int i = 0; i < count; i++) {
+            gradle.append("    implementation '").append(MAVEN_DEPENDENCIES[i]).append(':')
+                .append(1 + random.nextInt(6)).append('.').append(random.nextInt(10)).append('.').append(random.nextInt(20)).append("'\n");
+        }
+        gradle.append("}\n");
+        return gradle.toString();
+    }
+
+    private static String previousVersion(String version) {
+        String[] parts = version.split("\\.");
+        int minor = Integer.parseInt(parts[1]);
+        if (minor > 0) {
+            return parts[0] + "." + (minor - 1) + "." + parts[2];
+        }
+        return parts[0] + "." + parts[1] + "." + (Integer.parseInt(parts[2]) + 1) + "-rc1";
+    }
+
+    private static String randomHex(Random random, int length) {
+        StringBuilder hex = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            hex.append(Character.forDigit(random.nextInt(16), 16));
+        }
+        return hex.toString();
+    }
+
+    static void deleteRecursively(Path dir) throws IOException {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: WorkspaceGenerator <dir> [repositories] [seed]");
+            System.exit(2);
+        }
+        Spec spec = Spec.of(args.length > 1 ? Integer.parseInt(args[1]) : 1000);
+        if (args.length > 2) {
+            spec = spec.withSeed(Long.parseLong(args[2]));
+        }
+        Workspace workspace = generate(Paths.get(args[0]), spec);
+        System.out.println("Repository path: " + workspace.repositories());
+        System.out.println("SOA path:        " + workspace.soa());
+        System.out.println("Deployment path: " + workspace.deployment());
+        System.out.println(workspace.repositoryNames().size() + " repositories, " + workspace.warFileNames().size() + " WAR files");
+    }
+}
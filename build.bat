@@ -6,6 +6,12 @@ if %ERRORLEVEL% EQU 0 (
     echo Build successful, copying JAR...
     if exist "target\repo-browser-java-1.0.0.jar" (
         copy "target\repo-browser-java-1.0.0.jar" "repo-browser.jar" /Y >nul
+        rem A CDS archive only matches the jar it was trained with
+        if exist "repo-browser.jsa" del "repo-browser.jsa"
+        if /I "%~1"=="cds" (
+            echo Creating class data sharing archive, the application opens briefly...
+            java -XX:ArchiveClassesAtExit=repo-browser.jsa -Drepobrowser.cds.training=true -jar repo-browser.jar >nul
+        )
         echo Done! Use start.bat to run the application.
     ) else (
         echo ERROR: JAR file not found in target folder!
@@ -0,0 +1,269 @@
+package com.tandvu.repobrowser;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Finds how to start JavaFX for the launcher and remembers the launch that worked in
+ * ~/.repo-browser/launcher.properties. The cached launch is reused as long as the JDK,
+ * the application jar and the JavaFX directories are unchanged (checked by modification time),
+ * so later starts go straight to the working launch mode without probing.
+ */
+final class JavaFXRuntimeLocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(JavaFXRuntimeLocator.class);
+
+    private static final Path DEFAULT_CACHE_FILE = Paths.get(System.getProperty("user.home"), ".repo-browser", "launcher.properties");
+
+    // JavaFX modules in dependency order; base, graphics and controls are required
+    private static final List<String> JAVAFX_MODULES = List.of("base", "graphics", "controls", "fxml", "media");
+    private static final int REQUIRED_MODULES = 3;
+
+    private static final String KEY_MODE = "mode";
+    private static final String KEY_MODULE_PATH = "modulePath";
+    private static final String KEY_ADD_MODULES = "addModules";
+    private static final String KEY_JAVA_HOME = "javaHome";
+    private static final String KEY_JAR = "jar";
+    private static final String KEY_JAR_MODIFIED = "jarModified";
+    private static final String KEY_MODULE_PATH_MODIFIED = "modulePathModified";
+
+    /**
+     * How the application was started successfully
+     */
+    enum LaunchMode {
+        /** JavaFX classes from the fat jar, in-process */
+        DIRECT,
+        /** Child JVM with JavaFX on the module path */
+        MODULE_PATH
+    }
+
+    /**
+     * A launch configuration
+     *
+     * @param mode Launch mode
+     * @param modulePath Directories containing the JavaFX module jars (MODULE_PATH only)
+     * @param addModules Modules to add, e.g. javafx.controls,javafx.fxml (MODULE_PATH only)
+     */
+    record LaunchConfig(LaunchMode mode, List<Path> modulePath, String addModules) {
+
+        static final LaunchConfig DIRECT = new LaunchConfig(LaunchMode.DIRECT, List.of(), "");
+
+        /**
+         * @return The --module-path value
+         */
+        String modulePathValue() {
+            return modulePath.stream().map(Path::toString).collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+
+    private final Path cacheFile;
+    private final String jarPath;
+
+    JavaFXRuntimeLocator(String jarPath) {
+        this(DEFAULT_CACHE_FILE, jarPath);
+    }
+
+    JavaFXRuntimeLocator(Path cacheFile, String jarPath) {
+        this.cacheFile = cacheFile;
+        this.jarPath = jarPath;
+    }
+
+    /**
+     * Load the cached launch configuration
+     *
+     * @return The cached configuration, or null if there is none or it is stale
+     */
+    LaunchConfig loadCached() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(cacheFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            return null;
+        }
+
+        // Stale if the JDK or the application jar changed
+        if (!System.getProperty("java.home").equals(properties.getProperty(KEY_JAVA_HOME))
+                || !jarPath.equals(properties.getProperty(KEY_JAR))
+                || !String.valueOf(lastModified(Paths.get(jarPath))).equals(properties.getProperty(KEY_JAR_MODIFIED))) {
+            return null;
+        }
+
+        try {
+            LaunchMode mode = LaunchMode.valueOf(properties.getProperty(KEY_MODE, ""));
+            if (mode == LaunchMode.DIRECT) {
+                return LaunchConfig.DIRECT;
+            }
+            String modulePathValue = properties.getProperty(KEY_MODULE_PATH, "");
+            if (modulePathValue.isEmpty()) {
+                return null;
+            }
+            List<Path> modulePath = Arrays.stream(modulePathValue.split(File.pathSeparator)).map(Paths::get).toList();
+            // Stale if a JavaFX directory was removed or its contents changed
+            if (!modulePathModified(modulePath).equals(properties.getProperty(KEY_MODULE_PATH_MODIFIED))) {
+                return null;
+            }
+            return new LaunchConfig(mode, modulePath, properties.getProperty(KEY_ADD_MODULES, ""));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Remember a launch configuration that worked
+     */
+    void save(LaunchConfig config) {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_MODE, config.mode().name());
+        properties.setProperty(KEY_JAVA_HOME, System.getProperty("java.home"));
+        properties.setProperty(KEY_JAR, jarPath);
+        properties.setProperty(KEY_JAR_MODIFIED, String.valueOf(lastModified(Paths.get(jarPath))));
+        if (config.mode() == LaunchMode.MODULE_PATH) {
+            properties.setProperty(KEY_MODULE_PATH, config.modulePathValue());
+            properties.setProperty(KEY_ADD_MODULES, config.addModules());
+            properties.setProperty(KEY_MODULE_PATH_MODIFIED, modulePathModified(config.modulePath()));
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            try (OutputStream out = Files.newOutputStream(cacheFile)) {
+                properties.store(out, "Repo Browser launcher cache");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not save launcher cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Forget the cached launch, e.g. after it failed
+     */
+    void invalidate() {
+        try {
+            Files.deleteIfExists(cacheFile);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Find JavaFX module jars for a module path launch. Only lists a handful of known
+     * directories, never walks a directory tree.
+     *
+     * @return The configuration, or null if no JavaFX installation was found
+     */
+    LaunchConfig locateModulePath() {
+        // JavaFX SDK lib directories: all module jars in one directory
+        List<Path> sdkCandidates = List.of(
+            Paths.get(System.getProperty("java.home"), "lib"),
+            Paths.get("C:/Program Files/Java/javafx/lib"),
+            Paths.get("C:/OPT/javafx/lib")
+        );
+        for (Path dir : sdkCandidates) {
+            List<String> modules = new ArrayList<>();
+            for (String module : JAVAFX_MODULES) {
+                if (containsJar(dir, "javafx." + module + ".jar") || containsJar(dir, "javafx-" + module + "*.jar")) {
+                    modules.add(module);
+                }
+            }
+            if (modules.size() >= REQUIRED_MODULES) {
+                return new LaunchConfig(LaunchMode.MODULE_PATH, List.of(dir), addModules(modules));
+            }
+        }
+
+        // Local Maven repository: org/openjfx/javafx-<module>/<version>/, one directory per module
+        Path openjfx = Paths.get(System.getProperty("user.home"), ".m2", "repository", "org", "openjfx");
+        String version = newestVersion(openjfx.resolve("javafx-controls"));
+        if (version != null) {
+            List<Path> modulePath = new ArrayList<>();
+            List<String> modules = new ArrayList<>();
+            for (String module : JAVAFX_MODULES) {
+                Path dir = openjfx.resolve("javafx-" + module).resolve(version);
+                if (containsJar(dir, "javafx-" + module + "-" + version + "-*.jar")) {
+                    modulePath.add(dir);
+                    modules.add(module);
+                }
+            }
+            if (modules.size() >= REQUIRED_MODULES) {
+                return new LaunchConfig(LaunchMode.MODULE_PATH, modulePath, addModules(modules));
+            }
+        }
+        return null;
+    }
+
+    private static String addModules(List<String> modules) {
+        // base and graphics are pulled in by controls
+        return modules.stream()
+            .filter(module -> !module.equals("base") && !module.equals("graphics"))
+            .map(module -> "javafx." + module)
+            .collect(Collectors.joining(","));
+    }
+
+    private static boolean containsJar(Path dir, String glob) {
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, glob)) {
+            return stream.iterator().hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Newest version directory of a Maven artifact, compared numerically per dotted part
+     */
+    private static String newestVersion(Path artifactDir) {
+        if (!Files.isDirectory(artifactDir)) {
+            return null;
+        }
+        List<String> versions = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(artifactDir, Files::isDirectory)) {
+            stream.forEach(dir -> versions.add(dir.getFileName().toString()));
+        } catch (IOException e) {
+            return null;
+        }
+        return versions.stream().max(Comparator.comparing(JavaFXRuntimeLocator::versionKey, JavaFXRuntimeLocator::compareVersionKeys)).orElse(null);
+    }
+
+    private static int[] versionKey(String version) {
+        return Arrays.stream(version.split("[.-]"))
+            .mapToInt(part -> part.chars().allMatch(Character::isDigit) && !part.isEmpty() ? Integer.parseInt(part) : -1)
+            .toArray();
+    }
+
+    private static int compareVersionKeys(int[] a, int[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            if (a[i] != b[i]) {
+                return Integer.compare(a[i], b[i]);
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    private static String modulePathModified(List<Path> modulePath) {
+        return modulePath.stream().map(dir -> String.valueOf(lastModified(dir))).collect(Collectors.joining(","));
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.tandvu.repobrowser;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -15,23 +16,52 @@ import java.util.List;
  */
 public class Launcher {
     
+    // Class data sharing archive produced by "mvn -Pcds package" (or "build.bat cds") next to the jar
+    private static final String CDS_ARCHIVE_EXTENSION = ".jsa";
+    private static final String CDS_ARCHIVE_OPTION = "-XX:SharedArchiveFile=";
+    
     public static void main(String[] args) {
         System.out.println("Repo Browser JavaFX Launcher");
         System.out.println("=============================");
+        reportClassDataSharing();
+        
+        JavaFXRuntimeLocator locator = new JavaFXRuntimeLocator(getCurrentJarPath());
+        
+        // Go straight to the launch that worked last time, unless the JDK, jar or JavaFX changed
+        JavaFXRuntimeLocator.LaunchConfig cached = locator.loadCached();
+        if (cached != null && cached.mode() == JavaFXRuntimeLocator.LaunchMode.MODULE_PATH) {
+            System.out.println("Using cached JavaFX module path launch");
+            try {
+                launchWithJavaFXModules(args, cached, locator);
+                return;
+            } catch (Exception e) {
+                System.out.println("Cached launch failed: " + e.getMessage());
+                locator.invalidate();
+            }
+        }
         
         // First try: Direct launch (works if JavaFX is already configured)
         try {
             System.out.println("Attempting direct JavaFX launch...");
+            if (cached == null) {
+                // Cached as soon as JavaFX is up, not when the window closes, so a killed or crashed session still counts
+                RepoBrowserApplication.setStartedCallback(() -> locator.save(JavaFXRuntimeLocator.LaunchConfig.DIRECT));
+            }
             RepoBrowserApplication.main(args);
             return; // Success!
         } catch (Exception e) {
             System.out.println("Direct launch failed: " + e.getMessage());
             System.out.println("Attempting alternative launch methods...");
+            locator.invalidate();
         }
         
         // Second try: Launch with explicit JavaFX module path
         try {
-            launchWithJavaFXModules(args);
+            JavaFXRuntimeLocator.LaunchConfig config = locator.locateModulePath();
+            if (config == null) {
+                throw new Exception("JavaFX libraries not found in common locations");
+            }
+            launchWithJavaFXModules(args, config, locator);
             return; // Success!
         } catch (Exception e) {
             System.out.println("Module path launch failed: " + e.getMessage());
@@ -41,54 +71,79 @@ public class Launcher {
         showErrorMessage();
     }
     
-    private static void launchWithJavaFXModules(String[] args) throws Exception {
-        // Try to find JavaFX installation
-        List<String> possibleJavaFXPaths = Arrays.asList(
-            System.getProperty("java.home") + "/lib",
-            "C:/Program Files/Java/javafx/lib",
-            "C:/OPT/javafx/lib",
-            System.getProperty("user.home") + "/.m2/repository/org/openjfx"
-        );
+    /**
+     * Restart the application in a child JVM with JavaFX on the module path. The launch is
+     * cached when the child exits normally and forgotten when it fails.
+     */
+    private static void launchWithJavaFXModules(String[] args, JavaFXRuntimeLocator.LaunchConfig config,
+                                                JavaFXRuntimeLocator locator) throws Exception {
+        System.out.println("Found JavaFX at: " + config.modulePathValue());
         
-        String javaFXPath = null;
-        for (String path : possibleJavaFXPaths) {
-            if (Files.exists(Paths.get(path)) && containsJavaFXJars(path)) {
-                javaFXPath = path;
-                break;
-            }
-        }
+        // Build command to restart with proper modules
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(classDataSharingOptions());
+        command.add("--module-path");
+        command.add(config.modulePathValue());
+        command.add("--add-modules");
+        command.add(config.addModules());
+        command.add("-cp");
+        command.add(getCurrentJarPath());
+        command.add("com.tandvu.repobrowser.RepoBrowserApplication");
+        command.addAll(Arrays.asList(args));
         
-        if (javaFXPath != null) {
-            System.out.println("Found JavaFX at: " + javaFXPath);
-            
-            // Build command to restart with proper modules
-            List<String> command = new ArrayList<>();
-            command.add("java");
-            command.add("--module-path");
-            command.add(javaFXPath);
-            command.add("--add-modules");
-            command.add("javafx.controls,javafx.fxml");
-            command.add("-cp");
-            command.add(getCurrentJarPath());
-            command.add("com.tandvu.repobrowser.RepoBrowserApplication");
-            
-            System.out.println("Restarting with JavaFX modules...");
-            ProcessBuilder pb = new ProcessBuilder(command);
-            pb.inheritIO();
-            Process process = pb.start();
-            System.exit(process.waitFor());
+        System.out.println("Restarting with JavaFX modules...");
+        ProcessBuilder pb = new ProcessBuilder(command);
+        pb.inheritIO();
+        Process process = pb.start();
+        int exitCode = process.waitFor();
+        if (exitCode == 0) {
+            locator.save(config);
         } else {
-            throw new Exception("JavaFX libraries not found in common locations");
+            locator.invalidate();
         }
+        System.exit(exitCode);
     }
     
-    private static boolean containsJavaFXJars(String path) {
-        try {
-            Path dirPath = Paths.get(path);
-            return Files.walk(dirPath, 2)
-                .anyMatch(p -> p.getFileName().toString().contains("javafx-controls"));
-        } catch (Exception e) {
-            return false;
+    /**
+     * The CDS archive for the running jar (repo-browser.jar -> repo-browser.jsa), or null if none was built
+     */
+    private static Path findClassDataSharingArchive() {
+        String jarPath = getCurrentJarPath();
+        if (!jarPath.endsWith(".jar")) {
+            return null;
+        }
+        Path archive = Paths.get(jarPath.substring(0, jarPath.length() - ".jar".length()) + CDS_ARCHIVE_EXTENSION);
+        return Files.isRegularFile(archive) ? archive : null;
+    }
+    
+    /**
+     * JVM options to start a child JVM with the CDS archive. -Xshare:auto falls back to normal
+     * class loading if the archive does not match the JDK or jar.
+     */
+    private static List<String> classDataSharingOptions() {
+        Path archive = findClassDataSharingArchive();
+        if (archive == null) {
+            return List.of();
+        }
+        return List.of(CDS_ARCHIVE_OPTION + archive, "-Xshare:auto");
+    }
+    
+    /**
+     * A JVM can only map a CDS archive at startup, so the archive has to be passed on the
+     * command line (start.bat does this); report whether this JVM is using it.
+     */
+    private static void reportClassDataSharing() {
+        Path archive = findClassDataSharingArchive();
+        if (archive == null) {
+            return;
+        }
+        boolean inUse = ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+            .anyMatch(arg -> arg.startsWith(CDS_ARCHIVE_OPTION));
+        if (inUse) {
+            System.out.println("Using class data sharing archive: " + archive);
+        } else {
+            System.out.println("Class data sharing archive found but not in use; start with " + CDS_ARCHIVE_OPTION + archive);
         }
     }
     
@@ -1,14 +1,18 @@
 package com.tandvu.repobrowser;
 
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.prefs.Preferences;
 
 /**
@@ -24,12 +28,20 @@ public class RepoBrowserApplication extends Application {
     private static final double DEFAULT_WIDTH = 1000.0;
     private static final double DEFAULT_HEIGHT = 700.0;
     
+    // Set by the CDS training run (mvn -Pcds package): exit once startup is complete
+    private static final String CDS_TRAINING_PROPERTY = "repobrowser.cds.training";
+    private static final Duration CDS_TRAINING_DURATION = Duration.seconds(3);
+    
+    // Run once the first frame has been laid out, i.e. JavaFX is known to work; set by the Launcher
+    private static volatile Runnable startedCallback;
+    
     // Preferences instance
     private final Preferences preferences = Preferences.userNodeForPackage(RepoBrowserApplication.class);
     
     @Override
     public void start(Stage stage) throws IOException {
         logger.info("Starting Repo Browser JavaFX Application");
+        long startNanos = System.nanoTime();
         
         FXMLLoader fxmlLoader = new FXMLLoader(RepoBrowserApplication.class.getResource("/fxml/main.fxml"));
         Parent root = fxmlLoader.load();
@@ -61,11 +73,46 @@ public class RepoBrowserApplication extends Application {
             }
         });
         
+        logFirstPaint(scene, startNanos);
         stage.show();
         
         logger.info("Application started successfully with size: {}x{}", savedWidth, savedHeight);
     }
 
+    /**
+     * Log time-to-first-paint once the first frame of the scene has been laid out and run the
+     * started callback. In a CDS training run the application exits shortly afterwards.
+     */
+    private static void logFirstPaint(Scene scene, long startNanos) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                logger.info("Time to first paint: {} ms after JVM start, {} ms after Application.start",
+                        ManagementFactory.getRuntimeMXBean().getUptime(),
+                        (System.nanoTime() - startNanos) / 1_000_000);
+                Runnable callback = startedCallback;
+                startedCallback = null;
+                if (callback != null) {
+                    callback.run();
+                }
+                if (Boolean.getBoolean(CDS_TRAINING_PROPERTY)) {
+                    // Give the background scan time to load its classes too, then exit so the archive is written
+                    PauseTransition exitDelay = new PauseTransition(CDS_TRAINING_DURATION);
+                    exitDelay.setOnFinished(e -> Platform.exit());
+                    exitDelay.play();
+                }
+            }
+        });
+    }
+
+    /**
+     * Run a callback on the JavaFX thread once the window has been laid out for the first time
+     */
+    static void setStartedCallback(Runnable callback) {
+        startedCallback = callback;
+    }
+
     public static void main(String[] args) {
         launch();
     }
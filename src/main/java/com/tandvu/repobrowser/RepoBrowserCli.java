@@ -0,0 +1,394 @@
+package com.tandvu.repobrowser;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.tandvu.repobrowser.model.BuildRecord;
+import com.tandvu.repobrowser.model.RepositorySnapshot;
+import com.tandvu.repobrowser.model.VersionMismatch;
+import com.tandvu.repobrowser.service.BuildHistory;
+import com.tandvu.repobrowser.service.BuildScheduler;
+import com.tandvu.repobrowser.service.BuildService;
+import com.tandvu.repobrowser.service.DeploymentIndex;
+import com.tandvu.repobrowser.service.DeploymentService;
+import com.tandvu.repobrowser.service.FilterQuery;
+import com.tandvu.repobrowser.service.MetricsRegistry;
+import com.tandvu.repobrowser.service.RepositoryNameMatcher;
+import com.tandvu.repobrowser.service.RepositoryScanner;
+import com.tandvu.repobrowser.service.VersionReportWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.prefs.Preferences;
+
+/**
+ * Headless command line entry point for scripted scan, version report, build and deploy.
+ * Never initializes the JavaFX toolkit; results are written to stdout as JSON and
+ * logs and build output go to stderr.
+ *
+ * Usage: java -cp repo-browser.jar com.tandvu.repobrowser.RepoBrowserCli &lt;command&gt; [options] [repository...]
+ */
+public class RepoBrowserCli {
+
+    // Same preference node and keys as the desktop application, so saved paths are the defaults
+    private static final String PREFERENCES_NODE = "/com/tandvu/repobrowser/controller";
+    private static final String PREF_REPOSITORY_PATH = "repository_path";
+    private static final String PREF_DEPLOYMENT_PATH = "deployment_path";
+    private static final String PREF_IGNORE_MAP = "ignore_map";
+    private static final String DEFAULT_REPOSITORY_PATH = "C:\\AMPT";
+    private static final String DEFAULT_DEPLOYMENT_PATH = "C:\\OPT";
+    private static final String DEFAULT_SOA_PATH = "C:/AMPT_DEV/TRMC_MODULE";
+
+    private static final int EXIT_OK = 0;
+    private static final int EXIT_FAILED = 1;
+    private static final int EXIT_USAGE = 2;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    private final RepositoryScanner repositoryScanner = new RepositoryScanner();
+    private final DeploymentService deploymentService = new DeploymentService();
+    private final BuildHistory buildHistory = new BuildHistory();
+    private final BuildService buildService = new BuildService(deploymentService, buildHistory);
+
+    private Preferences preferences;
+    private String repositoryPath;
+    private String deploymentPath;
+    private String soaPath = DEFAULT_SOA_PATH;
+    private String reportFormat;
+    private String outputFile;
+    private String targetsFile;
+    private String metricsFile;
+    private int parallel = 1;
+    private final List<String> repositoryNames = new ArrayList<>();
+
+    public static void main(String[] args) {
+        // Keep stdout clean for JSON: route logging to stderr before any logger is created
+        if (System.getProperty("logback.configurationFile") == null) {
+            System.setProperty("logback.configurationFile", "logback-cli.xml");
+        }
+        System.exit(new RepoBrowserCli().run(args));
+    }
+
+    int run(String[] args) {
+        if (args.length == 0 || args[0].equals("help") || args[0].equals("--help")) {
+            printUsage();
+            return args.length == 0 ? EXIT_USAGE : EXIT_OK;
+        }
+
+        preferences = Preferences.userRoot().node(PREFERENCES_NODE);
+        repositoryPath = preferences.get(PREF_REPOSITORY_PATH, DEFAULT_REPOSITORY_PATH);
+        deploymentPath = preferences.get(PREF_DEPLOYMENT_PATH, DEFAULT_DEPLOYMENT_PATH);
+
+        String command = args[0];
+        try {
+            if (!parseOptions(args)) {
+                printUsage();
+                return EXIT_USAGE;
+            }
+            int exitCode = runCommand(command);
+            if (metricsFile != null && exitCode != EXIT_USAGE) {
+                MetricsRegistry.global().writeJson(Path.of(metricsFile));
+            }
+            return exitCode;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid option value: " + e.getMessage());
+            return EXIT_USAGE;
+        } catch (IOException e) {
+            System.err.println("ERROR: " + e.getMessage());
+            return EXIT_FAILED;
+        }
+    }
+
+    private int runCommand(String command) throws IOException {
+        switch (command) {
+            case "scan":
+                return scan();
+            case "versions":
+                return versions();
+            case "build":
+                return build();
+            case "deploy":
+                return deploy();
+            case "report":
+                return report();
+            default:
+                System.err.println("Unknown command: " + command);
+                printUsage();
+                return EXIT_USAGE;
+        }
+    }
+
+    private boolean parseOptions(String[] args) {
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.startsWith("--")) {
+                if (i + 1 >= args.length) {
+                    System.err.println("Missing value for " + arg);
+                    return false;
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--repos":
+                        repositoryPath = value;
+                        break;
+                    case "--deploy":
+                        deploymentPath = value;
+                        break;
+                    case "--soa":
+                        soaPath = value;
+                        break;
+                    case "--format":
+                        reportFormat = value;
+                        break;
+                    case "--out":
+                        outputFile = value;
+                        break;
+                    case "--targets":
+                        targetsFile = value;
+                        break;
+                    case "--metrics":
+                        metricsFile = value;
+                        break;
+                    case "--parallel":
+                        parallel = Integer.parseInt(value);
+                        if (parallel < 1) {
+                            throw new IllegalArgumentException("--parallel must be at least 1");
+                        }
+                        break;
+                    default:
+                        System.err.println("Unknown option: " + arg);
+                        return false;
+                }
+            } else {
+                repositoryNames.add(arg);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * scan: repositories with their detected versions
+     */
+    private int scan() throws IOException {
+        writeJson(scanRepositories());
+        return EXIT_OK;
+    }
+
+    /**
+     * versions: repo version next to the deployed version and WAR date
+     */
+    private int versions() throws IOException {
+        DeploymentIndex deploymentIndex = DeploymentIndex.scan(Path.of(deploymentPath.trim()));
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (RepositorySnapshot repo : scanRepositories()) {
+            DeploymentIndex.DeployedArtifact artifact = deploymentIndex.lookup(repo.name());
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("name", repo.name());
+            row.put("path", repo.path());
+            row.put("repoVersion", repo.repoVersion());
+            row.put("deploymentVersion", artifact != null ? artifact.version() : "");
+            row.put("deploymentModified", artifact != null ? artifact.modified() : "");
+            report.add(row);
+        }
+        writeJson(report);
+        return EXIT_OK;
+    }
+
+    /**
+     * report: stream the version report with mismatch reasons as JSON or CSV
+     */
+    private int report() throws IOException {
+        VersionReportWriter.Format format;
+        if (reportFormat != null) {
+            format = VersionReportWriter.Format.valueOf(reportFormat.toUpperCase());
+        } else {
+            format = outputFile != null ? VersionReportWriter.Format.forFileName(outputFile) : VersionReportWriter.Format.JSON;
+        }
+
+        List<RepositorySnapshot> repositories = scanRepositories();
+        DeploymentIndex deploymentIndex = DeploymentIndex.scan(Path.of(deploymentPath.trim()));
+        Set<String> ignored = loadIgnoredRepositories();
+
+        // Targeted versions come from the same pasted release list the filter box accepts
+        String[] targetedVersions = null;
+        if (targetsFile != null) {
+            FilterQuery query = FilterQuery.parse(Files.readString(Path.of(targetsFile)));
+            targetedVersions = query.evaluate(new RepositoryNameMatcher(repositories.stream().map(RepositorySnapshot::name).toList()));
+        }
+
+        Writer out = outputFile != null
+            ? Files.newBufferedWriter(Path.of(outputFile), StandardCharsets.UTF_8)
+            : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        int mismatches = 0;
+        try (VersionReportWriter report = VersionReportWriter.open(out, format)) {
+            for (int i = 0; i < repositories.size(); i++) {
+                RepositorySnapshot repo = repositories.get(i);
+                DeploymentIndex.DeployedArtifact artifact = deploymentIndex.lookup(repo.name());
+                String targetedVersion = targetedVersions != null && targetedVersions[i] != null ? targetedVersions[i] : "";
+                VersionReportWriter.Row row = VersionReportWriter.Row.of(repo.name(), repo.path(), ignored.contains(repo.name()), repo.repoVersion(), targetedVersion,
+                    artifact != null ? artifact.version() : "", artifact != null ? artifact.modified() : "");
+                report.write(row);
+                if (row.mismatch() != VersionMismatch.NONE) {
+                    mismatches++;
+                }
+            }
+        }
+        System.err.println(repositories.size() + " repositories, " + mismatches + " version mismatches");
+        return EXIT_OK;
+    }
+
+    /**
+     * build: build master and deploy each named repository in order
+     */
+    private int build() throws IOException {
+        if (repositoryNames.isEmpty()) {
+            System.err.println("build: no repositories given");
+            return EXIT_USAGE;
+        }
+        // One at a time in the given order, or longest expected build first on parallel slots
+        List<String> order = repositoryNames;
+        if (parallel > 1) {
+            BuildScheduler.Plan plan = BuildScheduler.plan(repositoryNames, parallel, buildHistory::estimateMillis);
+            order = plan.order();
+            System.err.println("Build order: " + String.join(", ", order) + " (predicted " + plan.predictedMillis() / 1000 + " s)");
+        }
+        List<BuildService.BuildJob> jobs = new ArrayList<>();
+        for (String name : order) {
+            Consumer<String> log = parallel > 1
+                ? text -> System.err.print(BuildService.prefixLines("[" + name + "] ", text))
+                : System.err::print;
+            jobs.add(new BuildService.BuildJob(name, BuildService.resolveRepositoryPath(name, repositoryPath, soaPath), log));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallel);
+        List<BuildRecord> records;
+        try {
+            records = buildService.buildAll(jobs, deploymentPath, executor, new BuildService.BatchListener() {
+                @Override
+                public void started(BuildService.BuildJob job) {
+                    job.log().accept("\n=== Batch: Building " + job.repositoryName() + " ===\n");
+                }
+
+                @Override
+                public void finished(BuildService.BuildJob job, BuildRecord record) {
+                    buildHistory.append(record);
+                    job.log().accept("=== Batch: " + job.repositoryName() + " " + (record.success() ? "SUCCEEDED" : "FAILED") + " ===\n");
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        boolean allSucceeded = true;
+        for (BuildRecord record : records) {
+            allSucceeded &= record.success();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("name", record.repository());
+            result.put("success", record.success());
+            result.put("durationMillis", record.durationMillis());
+            result.put("commit", record.commit());
+            result.put("stages", record.stages());
+            result.put("deployedArtifacts", record.deployedArtifacts());
+            results.add(result);
+        }
+        writeJson(results);
+        return allSucceeded ? EXIT_OK : EXIT_FAILED;
+    }
+
+    /**
+     * deploy: copy already built WAR files of each named repository
+     */
+    private int deploy() throws IOException {
+        if (repositoryNames.isEmpty()) {
+            System.err.println("deploy: no repositories given");
+            return EXIT_USAGE;
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        boolean allSucceeded = true;
+        for (String name : repositoryNames) {
+            Path repoPath = BuildService.resolveRepositoryPath(name, repositoryPath, soaPath);
+            DeploymentService.DeployResult deployResult = deploymentService.deploy(name, repoPath, deploymentPath, System.err::print);
+            allSucceeded &= deployResult.success();
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("name", name);
+            result.put("success", deployResult.success());
+            result.put("status", deployResult.status());
+            result.put("deployed", deployResult.deployed().stream().map(Path::toString).toList());
+            results.add(result);
+        }
+        writeJson(results);
+        return allSucceeded ? EXIT_OK : EXIT_FAILED;
+    }
+
+    /**
+     * Names of the repositories marked as ignored in the desktop application (name:true;name:false;...)
+     */
+    private Set<String> loadIgnoredRepositories() {
+        Set<String> ignored = new HashSet<>();
+        for (String entry : preferences.get(PREF_IGNORE_MAP, "").split(";")) {
+            String[] kv = entry.split(":");
+            if (kv.length == 2 && Boolean.parseBoolean(kv[1])) {
+                ignored.add(kv[0]);
+            }
+        }
+        return ignored;
+    }
+
+    /**
+     * Scan the repository path and add opt-soa from the SOA path, as the desktop application does
+     */
+    private List<RepositorySnapshot> scanRepositories() throws IOException {
+        List<RepositorySnapshot> repositories = new ArrayList<>(repositoryScanner.scanForRepositories(Path.of(repositoryPath.trim())));
+        Path soaDir = Path.of(soaPath.trim());
+        boolean hasSoa = repositories.stream().anyMatch(repo -> "opt-soa".equalsIgnoreCase(repo.name()));
+        if (!hasSoa && Files.isDirectory(soaDir)) {
+            repositories.add(repositoryScanner.scanSoaRepository(soaDir));
+        }
+        repositories.sort((r1, r2) -> r1.name().compareToIgnoreCase(r2.name()));
+        return repositories;
+    }
+
+    private void writeJson(Object value) throws IOException {
+        objectMapper.writeValue(System.out, value);
+        System.out.println();
+        System.out.flush();
+    }
+
+    private static void printUsage() {
+        System.err.println("Usage: java -cp repo-browser.jar com.tandvu.repobrowser.RepoBrowserCli <command> [options] [repository...]");
+        System.err.println();
+        System.err.println("Commands:");
+        System.err.println("  scan                 List repositories and their detected versions");
+        System.err.println("  versions             Report repo versions next to deployed WAR versions");
+        System.err.println("  build <repo>...      Build master and deploy the named repositories");
+        System.err.println("  deploy <repo>...     Deploy already built WAR files of the named repositories");
+        System.err.println("  report               Export the version report with mismatch reasons");
+        System.err.println();
+        System.err.println("Options (default to the paths saved by the desktop application):");
+        System.err.println("  --repos <dir>        Repository path");
+        System.err.println("  --deploy <dir>       Deployment path");
+        System.err.println("  --soa <dir>          SOA path (default " + DEFAULT_SOA_PATH + ")");
+        System.err.println("  --format json|csv    Report format (default from --out extension, else json)");
+        System.err.println("  --out <file>         Write the report to a file instead of stdout");
+        System.err.println("  --targets <file>     Release list (name<TAB>version) for targeted versions");
+        System.err.println("  --parallel <n>       Build up to n repositories at a time, longest expected first");
+        System.err.println("  --metrics <file>     Write phase timings and counters as JSON after the command");
+    }
+}
@@ -0,0 +1,101 @@
+package com.tandvu.repobrowser.controller;
+
+import com.tandvu.repobrowser.service.BuildHistory;
+import com.tandvu.repobrowser.service.BuildHistory.RepositoryStats;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Window with the slowest and the most often failing repositories from the {@link BuildHistory}
+ */
+final class BuildHistoryWindow {
+
+    private static final int LIMIT = 50;
+
+    private BuildHistoryWindow() {
+    }
+
+    /**
+     * Open the window; the history index is read in the background
+     *
+     * @param history Build history
+     * @param owner Owner window
+     */
+    static void show(BuildHistory history, Window owner) {
+        TableView<RepositoryStats> slowestTable = createTable("No successful builds recorded yet");
+        TableView<RepositoryStats> failingTable = createTable("No failed builds recorded");
+
+        TabPane tabs = new TabPane(new Tab("Slowest", slowestTable), new Tab("Most Failing", failingTable));
+        tabs.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+        Label statusLabel = new Label("Loading build history...");
+        VBox root = new VBox(8, tabs, statusLabel);
+        root.setPadding(new Insets(10));
+        VBox.setVgrow(tabs, Priority.ALWAYS);
+
+        Task<List<List<RepositoryStats>>> loadTask = new Task<>() {
+            @Override
+            protected List<List<RepositoryStats>> call() {
+                return List.of(history.slowest(LIMIT), history.mostFailing(LIMIT));
+            }
+        };
+        loadTask.setOnSucceeded(e -> {
+            slowestTable.setItems(FXCollections.observableArrayList(loadTask.getValue().get(0)));
+            failingTable.setItems(FXCollections.observableArrayList(loadTask.getValue().get(1)));
+            statusLabel.setText("Estimate is the median of the last successful builds");
+        });
+        loadTask.setOnFailed(e -> statusLabel.setText("Could not read build history: " + loadTask.getException().getMessage()));
+        Thread loadThread = new Thread(loadTask, "build-history");
+        loadThread.setDaemon(true);
+        loadThread.start();
+
+        Stage stage = new Stage();
+        stage.initOwner(owner);
+        stage.setTitle("Build History");
+        stage.setScene(new Scene(root, 720, 420));
+        stage.show();
+    }
+
+    private static TableView<RepositoryStats> createTable(String placeholder) {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        TableView<RepositoryStats> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.getColumns().add(column("Repository", 200, RepositoryStats::repository));
+        table.getColumns().add(column("Estimate", 80, stats -> stats.estimatedMillis() < 0 ? "" : formatDuration(stats.estimatedMillis())));
+        table.getColumns().add(column("Builds", 60, RepositoryStats::builds));
+        table.getColumns().add(column("Failures", 60, RepositoryStats::failures));
+        table.getColumns().add(column("Failure Rate", 90, stats -> String.format("%.0f%%", stats.failureRate() * 100)));
+        table.getColumns().add(column("Last Build", 130, stats -> dateFormat.format(new Date(stats.lastBuild()))
+            + (stats.lastSucceeded() ? "" : " (failed)")));
+        table.setPlaceholder(new Label(placeholder));
+        return table;
+    }
+
+    private static <T> TableColumn<RepositoryStats, T> column(String title, double width, Function<RepositoryStats, T> value) {
+        TableColumn<RepositoryStats, T> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        return seconds < 60 ? seconds + " s" : String.format("%d:%02d min", seconds / 60, seconds % 60);
+    }
+}
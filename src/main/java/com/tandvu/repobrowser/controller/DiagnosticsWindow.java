@@ -0,0 +1,114 @@
+package com.tandvu.repobrowser.controller;
+
+import com.tandvu.repobrowser.service.MetricsRegistry;
+import com.tandvu.repobrowser.service.MetricsRegistry.MetricSnapshot;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Window listing the timers, counters and histograms of a {@link MetricsRegistry}.
+ * The table is a snapshot; Refresh takes a new one.
+ */
+final class DiagnosticsWindow {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsWindow.class);
+
+    private DiagnosticsWindow() {
+    }
+
+    /**
+     * Open the diagnostics window
+     *
+     * @param metrics Registry to show
+     * @param owner Owner window, used to position the window and the save dialog
+     */
+    static void show(MetricsRegistry metrics, Window owner) {
+        TableView<MetricSnapshot> table = new TableView<>();
+        table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        table.getColumns().add(column("Metric", 200, MetricSnapshot::name));
+        table.getColumns().add(column("Type", 80, MetricSnapshot::type));
+        table.getColumns().add(column("Count", 70, MetricSnapshot::count));
+        table.getColumns().add(numberColumn("Total", MetricSnapshot::total));
+        table.getColumns().add(numberColumn("Mean", MetricSnapshot::mean));
+        table.getColumns().add(numberColumn("p50", MetricSnapshot::p50));
+        table.getColumns().add(numberColumn("p95", MetricSnapshot::p95));
+        table.getColumns().add(numberColumn("Max", MetricSnapshot::max));
+        table.setPlaceholder(new Label("No metrics recorded yet"));
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        Label statusLabel = new Label("Timer values are in milliseconds");
+        Runnable refresh = () -> table.setItems(FXCollections.observableArrayList(metrics.snapshot()));
+
+        Button refreshButton = new Button("Refresh");
+        refreshButton.setOnAction(e -> refresh.run());
+
+        Button resetButton = new Button("Reset");
+        resetButton.setOnAction(e -> {
+            metrics.reset();
+            refresh.run();
+        });
+
+        Stage stage = new Stage();
+        Button saveButton = new Button("Save JSON...");
+        saveButton.setOnAction(e -> {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Save Metrics");
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON (*.json)", "*.json"));
+            fileChooser.setInitialFileName("repo-browser-metrics.json");
+            File file = fileChooser.showSaveDialog(stage);
+            if (file == null) {
+                return;
+            }
+            try {
+                metrics.writeJson(file.toPath());
+                statusLabel.setText("Saved metrics to " + file.getName());
+                logger.info("Saved metrics to {}", file);
+            } catch (IOException ex) {
+                statusLabel.setText("Save failed: " + ex.getMessage());
+                logger.error("Failed to save metrics", ex);
+            }
+        });
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        HBox buttons = new HBox(8, statusLabel, spacer, refreshButton, resetButton, saveButton);
+        VBox root = new VBox(8, table, buttons);
+        root.setPadding(new Insets(10));
+
+        refresh.run();
+        stage.initOwner(owner);
+        stage.setTitle("Diagnostics");
+        stage.setScene(new Scene(root, 820, 420));
+        stage.show();
+    }
+
+    private static <T> TableColumn<MetricSnapshot, T> column(String title, double width, Function<MetricSnapshot, T> value) {
+        TableColumn<MetricSnapshot, T> column = new TableColumn<>(title);
+        column.setPrefWidth(width);
+        column.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(value.apply(cell.getValue())));
+        return column;
+    }
+
+    private static TableColumn<MetricSnapshot, String> numberColumn(String title, Function<MetricSnapshot, Double> value) {
+        return column(title, 80, metric -> metric.type().equals("counter") ? "" : String.format("%.2f", value.apply(metric)));
+    }
+}
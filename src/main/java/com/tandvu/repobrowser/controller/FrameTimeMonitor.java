@@ -0,0 +1,72 @@
+package com.tandvu.repobrowser.controller;
+
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frame-time counter for the main scene. Measures every pulse that actually runs a
+ * CSS/layout pass (it does not force extra pulses) and periodically logs the pass count
+ * and layout time at debug level, so batch table updates can be checked to coalesce
+ * into one layout pass per frame.
+ */
+final class FrameTimeMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(FrameTimeMonitor.class);
+
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+
+    private long pulseStart;
+    private long windowStart;
+    private int pulses;
+    private long totalLayoutNanos;
+    private long maxLayoutNanos;
+
+    private FrameTimeMonitor() {
+    }
+
+    /**
+     * Attach a monitor to the scene of the given node once it is shown. No-op unless debug logging is enabled.
+     */
+    static void install(Node node) {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        if (node.getScene() != null) {
+            new FrameTimeMonitor().attach(node.getScene());
+            return;
+        }
+        node.sceneProperty().addListener((obs, oldScene, newScene) -> {
+            if (oldScene == null && newScene != null) {
+                new FrameTimeMonitor().attach(newScene);
+            }
+        });
+    }
+
+    private void attach(Scene scene) {
+        windowStart = System.nanoTime();
+        scene.addPreLayoutPulseListener(() -> pulseStart = System.nanoTime());
+        scene.addPostLayoutPulseListener(this::pulseFinished);
+    }
+
+    private void pulseFinished() {
+        long now = System.nanoTime();
+        long layoutNanos = now - pulseStart;
+        pulses++;
+        totalLayoutNanos += layoutNanos;
+        maxLayoutNanos = Math.max(maxLayoutNanos, layoutNanos);
+
+        if (now - windowStart >= REPORT_INTERVAL_NANOS) {
+            logger.debug("UI frames: {} layout passes in {} ms, avg {} ms, max {} ms",
+                pulses,
+                (now - windowStart) / 1_000_000,
+                String.format("%.2f", totalLayoutNanos / 1_000_000.0 / pulses),
+                String.format("%.2f", maxLayoutNanos / 1_000_000.0));
+            windowStart = now;
+            pulses = 0;
+            totalLayoutNanos = 0;
+            maxLayoutNanos = 0;
+        }
+    }
+}
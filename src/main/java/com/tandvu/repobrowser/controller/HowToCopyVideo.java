@@ -0,0 +1,52 @@
+package com.tandvu.repobrowser.controller;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.StackPane;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.scene.media.MediaView;
+import javafx.stage.Stage;
+
+import java.net.URL;
+
+/**
+ * Window playing the "How to Copy" tutorial video. Kept out of MainController so the
+ * media subsystem is only loaded when the video is first opened, not at startup.
+ */
+final class HowToCopyVideo {
+
+    private HowToCopyVideo() {
+    }
+
+    /**
+     * Open a window and play the video; the player is disposed when the window closes
+     *
+     * @param videoUrl Video resource
+     */
+    static void show(URL videoUrl) {
+        Media media = new Media(videoUrl.toString());
+        MediaPlayer mediaPlayer = new MediaPlayer(media);
+        MediaView mediaView = new MediaView(mediaPlayer);
+
+        // Set up the media view
+        mediaView.setFitWidth(800);
+        mediaView.setFitHeight(600);
+        mediaView.setPreserveRatio(true);
+
+        // Create a new stage for the video
+        Stage videoStage = new Stage();
+        videoStage.setTitle("How to Copy - Tutorial Video");
+        videoStage.setScene(new Scene(new StackPane(mediaView), 800, 600));
+
+        // Play the video when the stage is shown
+        videoStage.setOnShown(e -> mediaPlayer.play());
+
+        // Clean up when the stage is closed
+        videoStage.setOnCloseRequest(e -> {
+            mediaPlayer.stop();
+            mediaPlayer.dispose();
+        });
+
+        videoStage.show();
+    }
+}
@@ -1,15 +1,36 @@
 package com.tandvu.repobrowser.controller;
 
-import javafx.scene.layout.StackPane;
-
+import com.tandvu.repobrowser.model.BuildRecord;
 import com.tandvu.repobrowser.model.Repository;
+import com.tandvu.repobrowser.model.RepositorySnapshot;
+import com.tandvu.repobrowser.model.RepositorySummary;
+import com.tandvu.repobrowser.service.BuildHistory;
+import com.tandvu.repobrowser.service.BuildScheduler;
+import com.tandvu.repobrowser.service.BuildService;
+import com.tandvu.repobrowser.service.DeploymentIndex;
+import com.tandvu.repobrowser.service.DeploymentService;
+import com.tandvu.repobrowser.service.FilterQuery;
+import com.tandvu.repobrowser.service.FlightRecording;
+import com.tandvu.repobrowser.service.MetricsRegistry;
+import com.tandvu.repobrowser.service.RepositoryNameMatcher;
 import com.tandvu.repobrowser.service.RepositoryScanner;
+import com.tandvu.repobrowser.service.ScanCache;
+import com.tandvu.repobrowser.service.VersionReportWriter;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
-import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
 import javafx.concurrent.Task;
+import javafx.css.PseudoClass;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
@@ -19,34 +40,38 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.Clipboard;
 import javafx.scene.input.ClipboardContent;
 import javafx.scene.layout.VBox;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import javafx.scene.media.MediaView;
 import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.awt.Desktop;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.DirectoryStream;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.prefs.Preferences;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -70,31 +95,132 @@ public class MainController implements Initializable {
     toggleIgnoredButton.setText(hideIgnored ? "Show Ignored Repos" : "Hide Ignored Repos");
     }
 
+    @FXML
+    private Button toggleMismatchButton;
+
+    private boolean mismatchOnly = false;
+    private static final String PREF_MISMATCH_ONLY = "mismatch_only";
+
     /**
-     * Update filteredRepositories based on filter and hideIgnored flag
+     * Toggle showing only repositories with a version mismatch
      */
-    private void updateFilteredRepositories() {
-        // Preserve any active text filter when updating hidden/ignored state.
-        String currentFilter = (filterField != null) ? filterField.getText() : null;
-        if (currentFilter != null && !currentFilter.trim().isEmpty()) {
-            // Re-apply the filter then enforce hideIgnored on the filtered result
-            filterRepositories(currentFilter);
-            if (hideIgnored) {
-                filteredRepositories.removeIf(Repository::isIgnore);
-            }
-        } else {
-            // No active text filter — show either all or non-ignored repositories
-            filteredRepositories.clear();
-            if (hideIgnored) {
-                filteredRepositories.addAll(repositories.stream().filter(r -> !r.isIgnore()).toList());
-            } else {
-                filteredRepositories.addAll(repositories);
+    @FXML
+    private void handleToggleMismatch() {
+        mismatchOnly = !mismatchOnly;
+        preferences.putBoolean(PREF_MISMATCH_ONLY, mismatchOnly);
+        updateFilteredRepositories();
+        toggleMismatchButton.setText(mismatchOnly ? "Show All Versions" : "Show Mismatches Only");
+    }
+
+    @FXML
+    private MenuButton toolsMenuButton;
+
+    @FXML
+    private MenuItem flightRecordingMenuItem;
+
+    private final FlightRecording flightRecording = new FlightRecording();
+
+    /**
+     * Export name, path, versions and mismatch reason of every scanned repository as JSON or CSV
+     */
+    @FXML
+    private void handleExportVersionReport() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Version Report");
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("JSON (*.json)", "*.json"),
+            new FileChooser.ExtensionFilter("CSV (*.csv)", "*.csv"));
+        fileChooser.setInitialFileName("version-report.json");
+        File file = fileChooser.showSaveDialog(toolsMenuButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+
+        // Copy the row values on the FX thread; the file is written in the background
+        List<VersionReportWriter.Row> rows = new ArrayList<>(repositories.size());
+        for (Repository repo : repositories) {
+            rows.add(new VersionReportWriter.Row(repo.getName(), repo.getPath(), repo.isIgnore(), repo.getRepoVersion(),
+                repo.getTargetedVersion(), repo.getDeploymentVersion(), repo.getDeploymentModified(), repo.getVersionMismatch()));
+        }
+        VersionReportWriter.Format format = VersionReportWriter.Format.forFileName(file.getName());
+
+        Task<Integer> exportTask = new Task<>() {
+            @Override
+            protected Integer call() throws Exception {
+                try (VersionReportWriter report = VersionReportWriter.open(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8), format)) {
+                    for (VersionReportWriter.Row row : rows) {
+                        report.write(row);
+                    }
+                    return report.getCount();
+                }
             }
+        };
+        exportTask.setOnSucceeded(e -> {
+            statusLabel.setText("Exported " + exportTask.getValue() + " repositories to " + file.getName());
+            logger.info("Exported version report to {}", file);
+        });
+        exportTask.setOnFailed(e -> {
+            statusLabel.setText("Export failed: " + exportTask.getException().getMessage());
+            logger.error("Failed to export version report", exportTask.getException());
+        });
+        Thread exportThread = new Thread(exportTask, "report-export");
+        exportThread.setDaemon(true);
+        exportThread.start();
+    }
+
+    /**
+     * Show the slowest and most often failing repositories from the build history
+     */
+    @FXML
+    private void handleShowBuildHistory() {
+        BuildHistoryWindow.show(buildHistory, toolsMenuButton.getScene().getWindow());
+    }
+
+    /**
+     * Show scan, filter, build and deploy timings collected since startup
+     */
+    @FXML
+    private void handleShowDiagnostics() {
+        DiagnosticsWindow.show(metrics, toolsMenuButton.getScene().getWindow());
+    }
+
+    /**
+     * Start a JFR recording to a chosen file, or stop the running one and write the file
+     */
+    @FXML
+    private void handleToggleFlightRecording() {
+        if (flightRecording.isRecording()) {
+            Path file = flightRecording.stop();
+            flightRecordingMenuItem.setText("Start Flight Recording...");
+            statusLabel.setText("Flight recording saved to " + file.getFileName());
+            return;
+        }
+
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Start Flight Recording");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Flight Recording (*.jfr)", "*.jfr"));
+        fileChooser.setInitialFileName("repo-browser.jfr");
+        File file = fileChooser.showSaveDialog(toolsMenuButton.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        try {
+            flightRecording.start(file.toPath());
+            flightRecordingMenuItem.setText("Stop Flight Recording");
+            statusLabel.setText("Flight recording started");
+        } catch (IOException e) {
+            statusLabel.setText("Could not start flight recording: " + e.getMessage());
+            logger.error("Failed to start flight recording", e);
         }
+    }
 
-        repoTable.refresh();
-        updateHeaderCheckboxState();
-        updateStatusLabel();
+    /**
+     * Update the ignore and mismatch predicates from the hideIgnored and mismatchOnly flags.
+     * The text predicate is driven per repository by the filter pipeline.
+     */
+    private void updateFilteredRepositories() {
+        ignorePredicate.set(hideIgnored ? NOT_IGNORED : ALL_REPOSITORIES);
+        mismatchPredicate.set(mismatchOnly ? Repository::hasVersionMismatch : ALL_REPOSITORIES);
     }
     
     private static final Logger logger = LoggerFactory.getLogger(MainController.class);
@@ -102,6 +228,8 @@ public class MainController implements Initializable {
     // Preferences constants
     private static final String PREF_REPOSITORY_PATH = "repository_path";
     private static final String PREF_DEPLOYMENT_PATH = "deployment_path";
+    private static final String PREF_BUILD_SLOTS = "build_slots";
+    private static final int MAX_BUILD_SLOTS = 8;
     private static final String DEFAULT_REPOSITORY_PATH = "C:\\AMPT";
     private static final String DEFAULT_DEPLOYMENT_PATH = "C:\\OPT";
     
@@ -128,6 +256,10 @@ public class MainController implements Initializable {
     @FXML
     private Button buildMasterButton;
     @FXML
+    private Spinner<Integer> buildSlotsSpinner;
+    @FXML
+    private Button cancelBuildButton;
+    @FXML
     private Button refreshButton;
     @FXML
     private VBox buildLogContainer;
@@ -140,10 +272,55 @@ public class MainController implements Initializable {
     @FXML private Label statusLabel;
     @FXML private ProgressBar progressBar;
     
-    private final ObservableList<Repository> repositories = FXCollections.observableArrayList();
-    private final ObservableList<Repository> filteredRepositories = FXCollections.observableArrayList();
+    // Source list; the extractor turns changes to filter-relevant values into update events
+    // so the filtered view re-evaluates only the affected rows. It observes the repository's
+    // change notification, so the properties are only created for rows the table shows.
+    private final ObservableList<Repository> repositories = FXCollections.observableArrayList(repo -> new Observable[] {
+        repo.filterChanges()
+    });
+
+    // Composable view predicates: text filter, ignored repositories and version mismatches
+    private static final Predicate<Repository> ALL_REPOSITORIES = repo -> true;
+    private static final Predicate<Repository> NOT_IGNORED = repo -> !repo.isIgnore();
+
+    // Row pseudo-class for repositories with a version mismatch, i.e. Repository.hasVersionMismatch (see application.css)
+    private static final PseudoClass VERSION_MISMATCH = PseudoClass.getPseudoClass("version-mismatch");
+    private final ObjectProperty<Predicate<Repository>> textPredicate = new SimpleObjectProperty<>(Repository::isMatchesFilter);
+    private final ObjectProperty<Predicate<Repository>> ignorePredicate = new SimpleObjectProperty<>(ALL_REPOSITORIES);
+    private final ObjectProperty<Predicate<Repository>> mismatchPredicate = new SimpleObjectProperty<>(ALL_REPOSITORIES);
+
+    private final FilteredList<Repository> filteredRepositories = new FilteredList<>(repositories);
+    private final SortedList<Repository> sortedRepositories = new SortedList<>(filteredRepositories);
+    private final RepositorySummary repositorySummary = new RepositorySummary(repositories, filteredRepositories);
     private final RepositoryScanner repositoryScanner = new RepositoryScanner();
-    private final Map<String, String> targetedVersions = new HashMap<>();
+    private final DeploymentService deploymentService = new DeploymentService();
+    private final BuildHistory buildHistory = new BuildHistory();
+    private final BuildService buildService = new BuildService(deploymentService, buildHistory);
+    // Name index over repositories (same order), rebuilt only when the list is rescanned
+    private RepositoryNameMatcher repositoryMatcher = RepositoryNameMatcher.EMPTY;
+
+    // Filter pipeline: debounced text changes are evaluated on a background thread
+    private static final Duration FILTER_DEBOUNCE = Duration.millis(150);
+    private final PauseTransition filterDebounce = new PauseTransition(FILTER_DEBOUNCE);
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "repo-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long filterGeneration;
+    private final ExecutorService scanExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "repo-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long scanGeneration;
+    private final ScanCache scanCache = new ScanCache();
+
+    // Phase timings shown in the diagnostics window
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+    private final MetricsRegistry.Timer filterEvaluateTimer = metrics.timer("filter.evaluate");
+    private final MetricsRegistry.Timer filterApplyTimer = metrics.timer("filter.apply");
+    private final List<Runnable> afterFilterActions = new ArrayList<>();
     
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -171,12 +348,17 @@ public class MainController implements Initializable {
         if (toggleIgnoredButton != null) {
             toggleIgnoredButton.setText(hideIgnored ? "Show Ignored Repos" : "Hide Ignored Repos");
         }
+        mismatchOnly = preferences.getBoolean(PREF_MISMATCH_ONLY, false);
+        if (toggleMismatchButton != null) {
+            toggleMismatchButton.setText(mismatchOnly ? "Show All Versions" : "Show Mismatches Only");
+        }
 
         // Initialize build log area first to prevent JavaFX text rendering issues
         initializeBuildLogArea();
 
         // Load saved paths from preferences
         loadSavedPaths();
+        setupBuildSlots();
 
         // Setup table columns
         setupTableColumns();
@@ -184,7 +366,9 @@ public class MainController implements Initializable {
         // Ensure all columns are visible and table is editable
         repoTable.setEditable(true);
         repoTable.getColumns().forEach(col -> col.setVisible(true));
-        repoTable.refresh();
+
+        // Track layout passes per frame (logged at debug level)
+        FrameTimeMonitor.install(repoTable);
 
         // Setup filter functionality
         setupFilter();
@@ -217,11 +401,6 @@ public class MainController implements Initializable {
                 buildLogArea.setStyle("-fx-font-family: 'Courier New', monospace; -fx-font-size: 12px;");
                 
                 // Clear the default text from FXML to start fresh
-                buildLogArea.setText("");
-                
-                // Force initial text layout by setting and clearing content
-                buildLogArea.setText("Initializing...");
-                Thread.sleep(50); // Small delay to let JavaFX process the text
                 buildLogArea.clear();
                 
                 // Hide the build log container initially
@@ -309,68 +488,82 @@ public class MainController implements Initializable {
 
         // Make table editable for checkboxes
         repoTable.setEditable(true);
-        repoTable.setItems(filteredRepositories);        // Setup row factory for click-to-select functionality
+        // Table shows a sorted view over the filtered view of all repositories
+        filteredRepositories.predicateProperty().bind(Bindings.createObjectBinding(
+            () -> textPredicate.get().and(ignorePredicate.get()).and(mismatchPredicate.get()),
+            textPredicate, ignorePredicate, mismatchPredicate));
+        sortedRepositories.comparatorProperty().bind(repoTable.comparatorProperty());
+        repoTable.setItems(sortedRepositories);
+        updateFilteredRepositories();
+
+        // Setup row factory for click-to-select functionality
         setupRowFactory();
     }
     
     /**
-     * Setup row factory for click-to-select functionality and visual styling
+     * Setup row factory for click-to-select functionality and visual styling.
+     * Rows and cells observe only their current item through weak listeners that are
+     * detached when the row is recycled, so listeners do not accumulate while scrolling.
      */
     private void setupRowFactory() {
         repoTable.setRowFactory(tv -> new TableRow<Repository>() {
+            private final InvalidationListener versionListener = obs -> updateMismatchState();
+            private final WeakInvalidationListener weakVersionListener = new WeakInvalidationListener(versionListener);
+
+            {
+                itemProperty().addListener((obs, oldRepo, newRepo) -> {
+                    // filterChanges covers ignore and all three versions, so a new targeted version re-highlights
+                    if (oldRepo != null) {
+                        oldRepo.filterChanges().removeListener(weakVersionListener);
+                    }
+                    if (newRepo != null) {
+                        newRepo.filterChanges().addListener(weakVersionListener);
+                    }
+                    updateMismatchState();
+                });
+            }
+
+            private void updateMismatchState() {
+                Repository repo = getItem();
+                pseudoClassStateChanged(VERSION_MISMATCH, repo != null && !isEmpty() && repo.hasVersionMismatch());
+            }
+
             @Override
             public void updateItem(Repository repo, boolean empty) {
                 super.updateItem(repo, empty);
-                if (repo == null || empty) {
-                    setStyle("");
-                    setDisable(false);
-                } else {
-                    // Highlight if versions mismatch and ignore is not checked
-                    boolean mismatch = false;
-                    if (!repo.isIgnore()) {
-                        String repoVer = repo.getRepoVersion();
-                        String depVer = repo.getDeploymentVersion();
-                        if (repoVer != null && !repoVer.isBlank() && depVer != null && !depVer.isBlank() && !repoVer.equals(depVer)) {
-                            mismatch = true;
-                        }
-                        // Also flag if repoVer is present and depVer is empty
-                        if (repoVer != null && !repoVer.isBlank() && (depVer == null || depVer.isBlank())) {
-                            mismatch = true;
-                        }
-                    }
-                    setStyle(mismatch ? "-fx-background-color: #ffe0e0;" : "");
-                    // Listen for changes to ignore property
-                    repo.ignoreProperty().addListener((obs, wasIgnored, isIgnored) -> {
-                        if (isIgnored) {
-                            repo.setSelected(false);
-                        }
-                        if (hideIgnored) {
-                            updateFilteredRepositories();
-                        } else {
-                            repoTable.refresh();
-                        }
-                    });
-                }
+                setDisable(false);
+                updateMismatchState();
             }
         });
 
         // Custom cell factory for Selected column to hide checkbox if Ignored is checked
         selectedColumn.setCellFactory(col -> new CheckBoxTableCell<Repository, Boolean>() {
+            private final InvalidationListener ignoreListener = obs -> updateItem(getItem(), isEmpty());
+            private final WeakInvalidationListener weakIgnoreListener = new WeakInvalidationListener(ignoreListener);
+            private Repository observedRepo;
+
             @Override
             public void updateItem(Boolean selected, boolean empty) {
                 super.updateItem(selected, empty);
                 TableRow<Repository> row = getTableRow();
-                Repository repo = row == null ? null : row.getItem();
+                Repository repo = (row == null || empty) ? null : row.getItem();
+                if (repo != observedRepo) {
+                    if (observedRepo != null) {
+                        observedRepo.ignoreProperty().removeListener(weakIgnoreListener);
+                    }
+                    if (repo != null) {
+                        repo.ignoreProperty().addListener(weakIgnoreListener);
+                    }
+                    observedRepo = repo;
+                }
                 if (repo != null && repo.isIgnore()) {
                     setGraphic(null); // Hide checkbox
-                } else {
-                    setGraphic(getGraphic()); // Show checkbox
                 }
                 setDisable(repo != null && repo.isIgnore());
             }
         });
     }
-    
+
     /**
      * Setup header checkbox for select all/clear all functionality
      */
@@ -390,14 +583,11 @@ public class MainController implements Initializable {
                     repo.setSelected(isSelected);
                 }
             });
-            repoTable.refresh();
             if (isSelected) {
                 logger.info("Selected all visible repositories via header checkbox (excluding ignored)");
             } else {
                 logger.info("Cleared all repository selections via header checkbox");
             }
-            updateStatusLabel();
-            updateBuildButtonState();
         });
     }
     
@@ -406,7 +596,7 @@ public class MainController implements Initializable {
      */
     private void updateHeaderCheckboxState() {
         CheckBox headerCheckBox = (CheckBox) selectedColumn.getGraphic();
-        if (headerCheckBox == null || filteredRepositories.isEmpty()) {
+        if (headerCheckBox == null || repositorySummary.getVisibleCount() == 0) {
             if (headerCheckBox != null) {
                 headerCheckBox.setIndeterminate(false);
                 headerCheckBox.setSelected(false);
@@ -414,9 +604,7 @@ public class MainController implements Initializable {
             return;
         }
         
-        long selectedCount = filteredRepositories.stream()
-            .mapToLong(repo -> repo.isSelected() ? 1 : 0)
-            .sum();
+        int selectedCount = repositorySummary.getVisibleSelectedCount();
         
         // Temporarily remove the action listener to avoid recursion
         var currentAction = headerCheckBox.getOnAction();
@@ -425,7 +613,7 @@ public class MainController implements Initializable {
         if (selectedCount == 0) {
             headerCheckBox.setIndeterminate(false);
             headerCheckBox.setSelected(false);
-        } else if (selectedCount == filteredRepositories.size()) {
+        } else if (selectedCount == repositorySummary.getVisibleCount()) {
             headerCheckBox.setIndeterminate(false);
             headerCheckBox.setSelected(true);
         } else {
@@ -438,13 +626,45 @@ public class MainController implements Initializable {
     }
     
     private void setupFilter() {
-        filterField.textProperty().addListener((observable, oldValue, newValue) -> {
-            // Apply the text filter only; updateFilteredRepositories will re-apply hideIgnored when needed
-            filterRepositories(newValue);
-            // Ensure header/status reflect the new filtered set
-            updateHeaderCheckboxState();
-            updateStatusLabel();
+        // Wait for typing to pause before evaluating the filter
+        filterDebounce.setOnFinished(event -> scheduleFilter(filterField.getText()));
+        filterField.textProperty().addListener((observable, oldValue, newValue) -> filterDebounce.playFromStart());
+    }
+
+    /**
+     * Parse and match the filter text on the background filter thread, then apply the
+     * result to the table in a single update. Results from superseded requests are dropped.
+     */
+    private void scheduleFilter(String filter) {
+        final long generation = ++filterGeneration;
+        final RepositoryNameMatcher matcher = repositoryMatcher;
+
+        Task<String[]> filterTask = new Task<>() {
+            @Override
+            protected String[] call() {
+                MetricsRegistry.Sample sample = filterEvaluateTimer.start();
+                try {
+                    return FilterQuery.parse(filter).evaluate(matcher);
+                } finally {
+                    sample.stop();
+                }
+            }
+        };
+        filterTask.setOnSucceeded(event -> {
+            // Ignore stale results (newer filter text or a rescan since this was scheduled)
+            if (generation == filterGeneration && matcher == repositoryMatcher) {
+                applyFilterResult(filterTask.getValue());
+            }
         });
+        filterTask.setOnFailed(event -> logger.error("Filter evaluation failed", filterTask.getException()));
+        filterExecutor.execute(filterTask);
+    }
+
+    /**
+     * Run an action once the next filter result has been applied to the table
+     */
+    private void runAfterFilter(Runnable action) {
+        afterFilterActions.add(action);
     }
     
     private void setupAutoScan() {
@@ -457,11 +677,10 @@ public class MainController implements Initializable {
                     saveRepositoryPath(newValue.trim()); // Save to preferences when manually typed
                 }
             } else {
-                // Clear repositories when path is empty
-                repositories.clear();
-                filteredRepositories.clear();
-                updateStatusLabel();
-                updateBuildButtonState();
+                // Clear repositories when path is empty and drop any scan still running
+                scanGeneration++;
+                progressBar.setVisible(false);
+                clearRepositories();
             }
         });
         
@@ -478,7 +697,7 @@ public class MainController implements Initializable {
     }
     
     /**
-     * Setup build button state management based on repository selection
+     * Setup build button, header checkbox and status bar to follow the repository summary counts
      */
     private void setupBuildButtonState() {
         // Initially disable the button since no repositories are selected
@@ -486,15 +705,27 @@ public class MainController implements Initializable {
             buildMasterButton.setDisable(true);
         }
         
-        // Add listener to repository list to update button state when selection changes
-        repositories.addListener((ListChangeListener<Repository>) change -> {
+        // Each count changes by deltas, so these updates are O(1) per selection or filter change
+        repositorySummary.selectedCountProperty().addListener((obs, oldCount, newCount) -> {
             updateBuildButtonState();
+            updateStatusLabel();
         });
-        
-        // Also listen to filtered list changes
-        filteredRepositories.addListener((ListChangeListener<Repository>) change -> {
-            updateBuildButtonState();
+        repositorySummary.visibleSelectedCountProperty().addListener((obs, oldCount, newCount) -> updateHeaderCheckboxState());
+        repositorySummary.visibleCountProperty().addListener((obs, oldCount, newCount) -> {
+            updateHeaderCheckboxState();
+            updateStatusLabel();
         });
+        repositorySummary.totalCountProperty().addListener((obs, oldCount, newCount) -> updateStatusLabel());
+        repositorySummary.mismatchCountProperty().addListener((obs, oldCount, newCount) -> updateStatusLabel());
+    }
+
+    /**
+     * Number of parallel builds, restored from and saved to preferences
+     */
+    private void setupBuildSlots() {
+        int saved = Math.max(1, Math.min(MAX_BUILD_SLOTS, preferences.getInt(PREF_BUILD_SLOTS, 1)));
+        buildSlotsSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, MAX_BUILD_SLOTS, saved));
+        buildSlotsSpinner.valueProperty().addListener((obs, oldValue, newValue) -> preferences.putInt(PREF_BUILD_SLOTS, newValue));
     }
     
     /**
@@ -502,86 +733,89 @@ public class MainController implements Initializable {
      */
     private void updateBuildButtonState() {
         if (buildMasterButton != null) {
-            boolean hasSelectedRepos = repositories.stream().anyMatch(Repository::isSelected);
-            buildMasterButton.setDisable(!hasSelectedRepos);
+            buildMasterButton.setDisable(repositorySummary.getSelectedCount() == 0);
         }
     }
     
+    /**
+     * Show the cached result of the last scan right away, then rescan in the background
+     */
     private void performInitialScan() {
         String initialPath = basePathField.getText();
         if (initialPath != null && !initialPath.trim().isEmpty()) {
             File dir = new File(initialPath);
             if (dir.exists() && dir.isDirectory()) {
+                restoreCachedScan(initialPath);
                 scanRepositories(Path.of(initialPath));
             }
         }
     }
+
+    /**
+     * Fill the table from the scan cache; the background scan reconciles it afterwards
+     */
+    private void restoreCachedScan(String basePath) {
+        long start = System.nanoTime();
+        List<ScanCache.Entry> cached = scanCache.load(Path.of(basePath).toString());
+        if (cached.isEmpty()) {
+            return;
+        }
+        reconcileRepositories(cached.stream()
+            .map(entry -> new RepositorySnapshot(entry.name(), entry.path(), entry.repoVersion()))
+            .toList());
+        Map<String, ScanCache.Entry> cachedByPath = new HashMap<>();
+        cached.forEach(entry -> cachedByPath.put(entry.path(), entry));
+        for (Repository repo : repositories) {
+            ScanCache.Entry entry = cachedByPath.get(repo.getPath());
+            if (entry != null) {
+                repo.setDeploymentVersion(entry.deploymentVersion() != null ? entry.deploymentVersion() : "");
+                repo.setDeploymentModified(entry.deploymentModified() != null ? entry.deploymentModified() : "");
+            }
+        }
+        logger.info("Restored {} repositories from scan cache in {} ms", cached.size(), (System.nanoTime() - start) / 1_000_000);
+    }
     
+    /**
+     * Evaluate the filter synchronously on the FX thread and apply it
+     */
     private void filterRepositories(String filter) {
-        filteredRepositories.clear();
-        targetedVersions.clear();
-        
-        // Clear targeted versions from all repositories
-        repositories.forEach(repo -> repo.setTargetedVersion(""));
-        
-        if (filter == null || filter.trim().isEmpty()) {
-            filteredRepositories.addAll(repositories);
-        } else {
-            // Split filter text by lines and extract repository names and versions
-            String[] filterLines = filter.split("\\r?\\n");
-            List<String> repoNames = new ArrayList<>();
-            
-            for (String line : filterLines) {
-                String cleanLine = line.trim();
-                if (!cleanLine.isEmpty()) {
-                    // Split by tabs or multiple spaces to get parts
-                    String[] parts = cleanLine.split("[\\s\\t]+");
-                    if (parts.length >= 2) {
-                        String repoName = parts[0].toLowerCase();
-                        String version = parts[1];
-                        if (!repoName.isEmpty()) {
-                            repoNames.add(repoName);
-                            targetedVersions.put(repoName, version);
-                        }
-                    } else if (parts.length == 1) {
-                        // Just repository name, no version
-                        String repoName = parts[0].toLowerCase();
-                        if (!repoName.isEmpty()) {
-                            repoNames.add(repoName);
-                        }
-                    }
-                }
+        // Supersede any filter evaluation still running in the background
+        filterGeneration++;
+        filterDebounce.stop();
+        String[] targeted;
+        MetricsRegistry.Sample sample = filterEvaluateTimer.start();
+        try {
+            targeted = FilterQuery.parse(filter).evaluate(repositoryMatcher);
+        } finally {
+            sample.stop();
+        }
+        applyFilterResult(targeted);
+    }
+
+    /**
+     * Apply an evaluated filter: update only the targeted versions and filter matches that
+     * changed, so the filtered view receives change events for those rows only.
+     *
+     * @param targeted Targeted version per repository index, or null for non-matching repositories
+     */
+    private void applyFilterResult(String[] targeted) {
+        MetricsRegistry.Sample sample = filterApplyTimer.start();
+        for (int i = 0; i < repositories.size(); i++) {
+            Repository repo = repositories.get(i);
+            String version = i < targeted.length ? targeted[i] : null;
+            String newTargetedVersion = version != null ? version : "";
+            if (!newTargetedVersion.equals(repo.getTargetedVersion())) {
+                repo.setTargetedVersion(newTargetedVersion);
             }
-            
-            if (repoNames.isEmpty()) {
-                filteredRepositories.addAll(repositories);
-            } else {
-                // Include repositories that match any of the extracted names
-                // and set their targeted versions
-                filteredRepositories.addAll(
-                    repositories.stream()
-                        .filter(repo -> {
-                            String repoNameLower = repo.getName().toLowerCase();
-                            String matchingFilter = repoNames.stream()
-                                .filter(filterName -> repoNameLower.contains(filterName) || filterName.contains(repoNameLower))
-                                .findFirst()
-                                .orElse(null);
-                            
-                            if (matchingFilter != null) {
-                                // Set the targeted version if available
-                                String targetedVersion = targetedVersions.get(matchingFilter);
-                                repo.setTargetedVersion(targetedVersion != null ? targetedVersion : "");
-                                return true;
-                            }
-                            return false;
-                        })
-                        .collect(Collectors.toList())
-                );
+            if (repo.isMatchesFilter() != (version != null)) {
+                repo.setMatchesFilter(version != null);
             }
         }
-        
-        updateStatusLabel();
-        updateHeaderCheckboxState();
+        sample.stop();
+
+        List<Runnable> actions = new ArrayList<>(afterFilterActions);
+        afterFilterActions.clear();
+        actions.forEach(Runnable::run);
     }
     
     @FXML
@@ -631,6 +865,10 @@ public class MainController implements Initializable {
         }
     }
     
+    /**
+     * Scan the repository path and deployment directory in the background and merge the
+     * result into the table. A newer scan supersedes one that is still running.
+     */
     private void scanRepositories(Path basePath) {
         logger.info("Scanning repositories in: {}", basePath);
 
@@ -638,74 +876,176 @@ public class MainController implements Initializable {
         progressBar.setVisible(true);
         statusLabel.setText("Scanning repositories...");
 
-        // Clear existing repositories
-    repositories.clear();
-    filteredRepositories.clear();
+        // Read the UI state here; the task must not touch controls
+        String soaPath = soaPathLabel.getText();
+        String depPath = deploymentPathField.getText();
+        long generation = ++scanGeneration;
+        MetricsRegistry.Sample scanSample = metrics.timer("scan.total").start();
+
+        Task<ScanResult> scanTask = new Task<>() {
+            @Override
+            protected ScanResult call() throws Exception {
+                List<RepositorySnapshot> foundRepos = new ArrayList<>(repositoryScanner.scanForRepositories(basePath));
 
-        try {
-            List<Repository> foundRepos = repositoryScanner.scanForRepositories(basePath);
-            // Load ignore map from preferences
-            String ignoreMapStr = preferences.get(PREF_IGNORE_MAP, "");
-            Map<String, Boolean> ignoreMap = new HashMap<>();
-            if (!ignoreMapStr.isEmpty()) {
-                for (String entry : ignoreMapStr.split(";")) {
-                    String[] kv = entry.split(":");
-                    if (kv.length == 2) {
-                        ignoreMap.put(kv[0], Boolean.parseBoolean(kv[1]));
-                    }
+                // Add opt-soa repository from SOA Path if it exists
+                RepositorySnapshot soaRepo = createSoaRepository(foundRepos, soaPath);
+                if (soaRepo != null) {
+                    foundRepos.add(soaRepo);
+                }
+
+                // Sort all repositories (including opt-soa) alphabetically by name
+                foundRepos.sort((r1, r2) -> r1.name().compareToIgnoreCase(r2.name()));
+
+                // After scanning repositories, index deployment versions if deployment path is valid
+                DeploymentIndex deploymentIndex = DeploymentIndex.EMPTY;
+                if (depPath != null && !depPath.isBlank()) {
+                    deploymentIndex = DeploymentIndex.scan(Path.of(depPath.trim()));
                 }
+
+                List<ScanCache.Entry> cacheEntries = new ArrayList<>(foundRepos.size());
+                for (RepositorySnapshot repo : foundRepos) {
+                    DeploymentIndex.DeployedArtifact artifact = deploymentIndex.lookup(repo.name());
+                    cacheEntries.add(new ScanCache.Entry(repo.name(), repo.path(), repo.repoVersion(),
+                        artifact != null ? artifact.version() : "", artifact != null ? artifact.modified() : ""));
+                }
+                scanCache.save(basePath.toString(), cacheEntries);
+                return new ScanResult(foundRepos, deploymentIndex);
             }
-            repositories.addAll(foundRepos);
+        };
+        scanTask.setOnSucceeded(event -> {
+            if (generation != scanGeneration) {
+                return;
+            }
+            progressBar.setVisible(false);
+            ScanResult result = scanTask.getValue();
 
-            // Add opt-soa repository from SOA Path if it exists
-            addSoaRepository();
+            // Merge into the current model, keeping existing Repository objects and their selection
+            MetricsRegistry.Sample sample = metrics.timer("scan.reconcile").start();
+            try {
+                reconcileRepositories(result.repositories());
+                applyDeploymentIndex(result.deploymentIndex());
+            } finally {
+                sample.stop();
+            }
+            scanSample.stop();
 
-            // Restore ignore state for each repo
-            for (Repository repo : repositories) {
-                if (ignoreMap.containsKey(repo.getName())) {
-                    repo.setIgnore(ignoreMap.get(repo.getName()));
+            logger.info("Found {} repositories", repositories.size());
+            updateStatusLabel();
+        });
+        scanTask.setOnFailed(event -> {
+            if (generation != scanGeneration) {
+                return;
+            }
+            progressBar.setVisible(false);
+            logger.error("Error scanning repositories", scanTask.getException());
+            showAlert("Error", "Failed to scan repositories: " + scanTask.getException().getMessage());
+            statusLabel.setText("Error occurred during scanning");
+        });
+        scanExecutor.execute(scanTask);
+    }
+
+    /**
+     * Repositories and deployed versions found by a background scan
+     */
+    private record ScanResult(List<RepositorySnapshot> repositories, DeploymentIndex deploymentIndex) {
+    }
+
+    /**
+     * Diff a scan result against the current model by path: add new repositories, remove
+     * missing ones and update versions in place. Unchanged repositories keep their identity,
+     * selection and listeners, so rescanning an unchanged root causes almost no UI work.
+     *
+     * @param scanned Scan result sorted by name
+     */
+    private void reconcileRepositories(List<RepositorySnapshot> scanned) {
+        Map<String, Repository> currentByPath = new HashMap<>();
+        for (Repository repo : repositories) {
+            currentByPath.put(repo.getPath(), repo);
+        }
+
+        Map<String, Boolean> ignoreMap = loadIgnoreMap();
+        List<Repository> added = new ArrayList<>();
+        int updated = 0;
+        for (RepositorySnapshot snapshot : scanned) {
+            Repository existing = currentByPath.remove(snapshot.path());
+            if (existing != null) {
+                if (!snapshot.repoVersion().equals(existing.getRepoVersion())) {
+                    existing.setRepoVersion(snapshot.repoVersion());
+                    updated++;
                 }
+                continue;
+            }
+            Repository repo = new Repository(snapshot);
+            // Restore ignore state before the repository becomes observable
+            Boolean ignored = ignoreMap.get(repo.getName());
+            if (ignored != null) {
+                repo.setIgnore(ignored);
             }
+            repo.ignoreChanges().addListener(ignoreListener);
+            added.add(repo);
+        }
 
-            // Sort all repositories (including opt-soa) alphabetically by name
-            repositories.sort((r1, r2) -> r1.getName().compareToIgnoreCase(r2.getName()));
+        Set<Repository> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(currentByPath.values());
+        removed.forEach(repo -> repo.ignoreChanges().removeListener(ignoreListener));
 
-            updateFilteredRepositories();
+        if (!removed.isEmpty()) {
+            repositories.removeIf(removed::contains);
+        }
+        if (repositories.isEmpty()) {
+            repositories.addAll(added);
+        } else {
+            // Insert new repositories at their sorted positions
+            Comparator<Repository> byName = (r1, r2) -> r1.getName().compareToIgnoreCase(r2.getName());
+            for (Repository repo : added) {
+                int index = Collections.binarySearch(repositories, repo, byName);
+                repositories.add(index < 0 ? -index - 1 : index, repo);
+            }
+        }
+        logger.info("Rescan: {} added, {} removed, {} updated", added.size(), removed.size(), updated);
 
-            // Add listeners to each repository to update header checkbox and persist ignore state
-            repositories.forEach(repo -> {
-                repo.selectedProperty().addListener((observable, oldValue, newValue) -> {
-                    updateHeaderCheckboxState();
-                    updateStatusLabel();
-                    updateBuildButtonState();
-                    Platform.runLater(() -> repoTable.refresh());
-                });
-                repo.ignoreProperty().addListener((observable, oldValue, newValue) -> {
-                    saveIgnoreMap();
-                    Platform.runLater(() -> repoTable.refresh());
-                });
-            });
+        // Rebuild the filter index and re-apply the current text filter only when membership changed
+        if (!added.isEmpty() || !removed.isEmpty() || repositoryMatcher.size() != repositories.size()) {
+            repositoryMatcher = new RepositoryNameMatcher(repositories.stream().map(Repository::getName).toList());
+            filterRepositories(filterField.getText());
+        }
+    }
 
-            logger.info("Found {} repositories", repositories.size());
-            updateStatusLabel();
-            updateHeaderCheckboxState();
-            updateBuildButtonState();
+    /**
+     * Remove all repositories from the model and detach their listeners
+     */
+    private void clearRepositories() {
+        repositories.forEach(repo -> repo.ignoreChanges().removeListener(ignoreListener));
+        repositories.clear();
+        repositoryMatcher = RepositoryNameMatcher.EMPTY;
+    }
 
-            // After scanning repositories, try updating deployment versions if deployment path is valid
-            String depPath = deploymentPathField.getText();
-            if (depPath != null && !depPath.isBlank()) {
-                File depDir = new File(depPath.trim());
-                if (depDir.exists() && depDir.isDirectory()) {
-                    updateDeploymentVersions(depDir.toPath());
+    /**
+     * Persist ignore state and deselect ignored repositories; shared by all repositories
+     * (the notification carries the repository)
+     */
+    private final InvalidationListener ignoreListener = observable -> {
+        Repository repo = ((Repository.Notifier) observable).getRepository();
+        // Ignored repositories cannot stay selected
+        if (repo.isIgnore()) {
+            repo.setSelected(false);
+        }
+        saveIgnoreMap();
+    };
+
+    private Map<String, Boolean> loadIgnoreMap() {
+        // Load ignore map from preferences
+        String ignoreMapStr = preferences.get(PREF_IGNORE_MAP, "");
+        Map<String, Boolean> ignoreMap = new HashMap<>();
+        if (!ignoreMapStr.isEmpty()) {
+            for (String entry : ignoreMapStr.split(";")) {
+                String[] kv = entry.split(":");
+                if (kv.length == 2) {
+                    ignoreMap.put(kv[0], Boolean.parseBoolean(kv[1]));
                 }
             }
-        } catch (Exception e) {
-            logger.error("Error scanning repositories", e);
-            showAlert("Error", "Failed to scan repositories: " + e.getMessage());
-            statusLabel.setText("Error occurred during scanning");
-        } finally {
-            progressBar.setVisible(false);
         }
+        return ignoreMap;
     }
 
     private void saveIgnoreMap() {
@@ -717,10 +1057,13 @@ public class MainController implements Initializable {
     }
 
     /**
-     * Add opt-soa repository from the SOA Path if the directory exists
+     * Create the opt-soa repository from the SOA Path if the directory exists
+     *
+     * @param foundRepos Repositories found by the scan, used to avoid duplicates
+     * @param soaPath SOA Path
+     * @return The opt-soa repository, or null if it should not be added
      */
-    private void addSoaRepository() {
-        String soaPath = soaPathLabel.getText();
+    private RepositorySnapshot createSoaRepository(List<RepositorySnapshot> foundRepos, String soaPath) {
         logger.info("Attempting to add opt-soa from SOA Path: '{}'", soaPath);
 
         if (soaPath != null && !soaPath.trim().isEmpty()) {
@@ -733,25 +1076,16 @@ public class MainController implements Initializable {
 
             if (soaDir.exists() && soaDir.isDirectory()) {
                 // Check if opt-soa already exists in the list (avoid duplicates)
-                boolean alreadyExists = repositories.stream()
-                    .anyMatch(repo -> "opt-soa".equalsIgnoreCase(repo.getName()));
+                boolean alreadyExists = foundRepos.stream()
+                    .anyMatch(repo -> "opt-soa".equalsIgnoreCase(repo.name()));
 
                 logger.info("opt-soa already exists in repository list: {}", alreadyExists);
 
                 if (!alreadyExists) {
-                    Repository soaRepo = new Repository("opt-soa", normalizedPath);
-
                     // Try to detect version from the SOA directory with custom logic
-                    try {
-                        String version = detectSoaRepositoryVersion(soaDir.toPath());
-                        logger.info("Detected version for opt-soa: '{}'", version);
-                        soaRepo.setRepoVersion(version);
-                    } catch (Exception e) {
-                        logger.warn("Could not detect version for opt-soa: {}", e.getMessage());
-                    }
-
-                    repositories.add(soaRepo);
+                    RepositorySnapshot soaRepo = repositoryScanner.scanSoaRepository(Path.of(normalizedPath));
                     logger.info("Successfully added opt-soa repository from SOA Path: {}", normalizedPath);
+                    return soaRepo;
                 } else {
                     logger.info("opt-soa repository already exists, skipping SOA Path addition");
                 }
@@ -761,60 +1095,9 @@ public class MainController implements Initializable {
         } else {
             logger.warn("SOA Path is null or empty: '{}'", soaPath);
         }
+        return null;
     }
 
-    /**
-     * Detect version for opt-soa repository which may have a different structure
-     */
-    private String detectSoaRepositoryVersion(Path soaPath) {
-        // Try looking in subdirectories for version files
-        try {
-            java.nio.file.DirectoryStream<java.nio.file.Path> stream = 
-                java.nio.file.Files.newDirectoryStream(soaPath, java.nio.file.Files::isDirectory);
-            for (java.nio.file.Path subDir : stream) {
-                logger.debug("Checking SOA subdirectory: {}", subDir.getFileName());
-                try {
-                    String version = repositoryScanner.detectRepositoryVersion(subDir);
-                    if (version != null && !version.trim().isEmpty()) {
-                        logger.info("Found SOA version in subdirectory {}: {}", subDir.getFileName(), version);
-                        return version;
-                    }
-                } catch (Exception e) {
-                    logger.debug("Version detection failed in subdirectory {}: {}", subDir.getFileName(), e.getMessage());
-                }
-            }
-            stream.close();
-        } catch (Exception e) {
-            logger.debug("Error scanning SOA subdirectories: {}", e.getMessage());
-        }
-
-        // Try looking for specific SOA version patterns in files
-        try {
-            // Look for version.properties, version.txt, or similar files
-            String[] versionFiles = {"version.properties", "version.txt", "VERSION", ".version"};
-            for (String fileName : versionFiles) {
-                java.nio.file.Path versionFile = soaPath.resolve(fileName);
-                if (java.nio.file.Files.exists(versionFile)) {
-                    String content = java.nio.file.Files.readString(versionFile);
-                    // Look for version patterns
-                    java.util.regex.Matcher matcher = java.util.regex.Pattern
-                        .compile("(?i)(?:version[=:\\s]+)([0-9]+(?:\\.[0-9]+)*(?:-[a-z0-9]+)?)")
-                        .matcher(content);
-                    if (matcher.find()) {
-                        String version = matcher.group(1);
-                        logger.info("Found SOA version in {}: {}", fileName, version);
-                        return version;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            logger.debug("Error reading SOA version files: {}", e.getMessage());
-        }
-        
-        logger.info("Could not detect version for opt-soa repository");
-        return "";
-    }
-    
     @FXML
     private void handleRefresh() {
         // Get the current repository path
@@ -849,6 +1132,16 @@ public class MainController implements Initializable {
         startBatchBuild(selectedRepos);
     }
 
+    /**
+     * Kill the running builds of the batch, including their child processes, and skip the rest
+     */
+    @FXML
+    private void handleCancelBuild() {
+        cancelBuildButton.setDisable(true);
+        buildStatusLabel.setText("Cancelling...");
+        buildService.cancel();
+    }
+
     @FXML
     private void handleBackToTable() {
         // Show table, hide build log
@@ -857,309 +1150,85 @@ public class MainController implements Initializable {
         buildMasterButton.setDisable(false);
     }
 
-    private void startBuildProcess(Repository repository) {
-        if (buildLogArea != null) {
-            buildLogArea.appendText("[TEST] buildLogArea injection works.\n");
-        }
-        // Ensure build log container is visible and brought to front
-        if (buildLogContainer != null && buildLogContainer.getParent() instanceof StackPane) {
-            StackPane stack = (StackPane) buildLogContainer.getParent();
-            buildLogContainer.setVisible(true);
-            buildLogContainer.toFront();
-        }
-        // Hide table, show build log
-        if (buildLogArea != null) {
-            buildLogArea.appendText("[DIAG] startBuildProcess called for " + repository.getName() + "\n");
-            buildLogArea.appendText("Build started for " + repository.getName() + "\n");
-            buildLogArea.appendText("Building " + repository.getName() + "...\n");
-        }
+    /**
+     * Start a batch build for multiple repositories. Builds run on up to buildSlotsSpinner
+     * workers at a time, longest expected build first (see {@link BuildScheduler}).
+     */
+    private void startBatchBuild(List<Repository> repos) {
+        // Hide table and show build log once for the batch
+        if (buildLogContainer != null) buildLogContainer.setVisible(true);
         repoTable.setVisible(false);
-        if (buildLogContainer != null) {
-            buildLogContainer.setVisible(true);
-        }
         buildMasterButton.setDisable(true);
-        buildStatusLabel.setText("Building " + repository.getName() + "...");
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
-        // Get repository path
-        String basePath = basePathField.getText().trim();
-        if (basePath.isEmpty()) {
-            appendToBuildLog("ERROR: No repository path configured\n");
-            buildStatusLabel.setText("Build Failed");
-            buildMasterButton.setDisable(false);
-            return;
-        }
-
-        Path repoPath;
-        if (repository.getName().equalsIgnoreCase("opt-soa")) {
-            String soaPath = soaPathLabel.getText().trim();
-            repoPath = Paths.get(soaPath, "opt-soa");
-        } else {
-            repoPath = Paths.get(basePath, repository.getName());
-        }
-        if (!Files.exists(repoPath)) {
-            appendToBuildLog("ERROR: Repository path does not exist: " + repoPath + "\n");
-            buildStatusLabel.setText("Build Failed");
-            buildMasterButton.setDisable(false);
-            return;
-        }
 
-        // Start build process in background thread
-        Task<Void> buildTask = new Task<Void>() {
+        cancelBuildButton.setDisable(false);
+        int slots = buildSlotsSpinner.getValue();
+        String basePath = basePathField.getText();
+        String soaPath = soaPathLabel.getText();
+        String deploymentPath = deploymentPathField.getText();
+        Task<Void> batchTask = new Task<>() {
             @Override
             protected Void call() throws Exception {
-                try {
-                    final Repository finalRepository = repository;
-                    final Path finalRepoPath = repoPath;
-
-                    if (!finalRepository.getName().equalsIgnoreCase("opt-soa")) {
-                        // Step 1: Check if it's a git repository
-                        appendToBuildLog("=== Checking Git Repository ===\n");
-                        if (!Files.exists(finalRepoPath.resolve(".git"))) {
-                            appendToBuildLog("ERROR: Not a git repository: " + finalRepoPath + "\n");
-                            Platform.runLater(() -> {
-                                buildStatusLabel.setText("Build Failed");
-                                buildMasterButton.setDisable(false);
-                            });
-                            return null;
-                        }
-
-                        // Step 2: Checkout master branch
-                        appendToBuildLog("=== Checking out master branch ===\n");
-                        ProcessBuilder gitCheckout = new ProcessBuilder("git", "checkout", "master");
-                        gitCheckout.directory(finalRepoPath.toFile());
-                        gitCheckout.redirectErrorStream(true);
-
-                        Process gitProcess = gitCheckout.start();
-                        try (BufferedReader reader = new BufferedReader(new InputStreamReader(gitProcess.getInputStream()))) {
-                            String line;
-                            while ((line = reader.readLine()) != null) {
-                                final String logLine = line != null ? line : "";
-                                Platform.runLater(() -> appendToBuildLog(logLine + "\n"));
-                            }
-                        }
-
-                        int gitExitCode = gitProcess.waitFor();
-                        if (gitExitCode != 0) {
-                            Platform.runLater(() -> {
-                                appendToBuildLog("ERROR: Git checkout failed with exit code: " + gitExitCode + "\n");
-                                buildStatusLabel.setText("Build Failed");
-                                buildMasterButton.setDisable(false);
-                            });
-                            return null;
-                        }
-
-                        // Step 3: Pull latest changes
-                        appendToBuildLog("=== Pulling latest changes ===\n");
-                        ProcessBuilder gitPull = new ProcessBuilder("git", "pull");
-                        gitPull.directory(finalRepoPath.toFile());
-                        gitPull.redirectErrorStream(true);
-
-                        Process pullProcess = gitPull.start();
-                        try (BufferedReader reader = new BufferedReader(new InputStreamReader(pullProcess.getInputStream()))) {
-                            String line;
-                            while ((line = reader.readLine()) != null) {
-                                final String logLine = line != null ? line : "";
-                                Platform.runLater(() -> appendToBuildLog(logLine + "\n"));
-                            }
-                        }
-
-                        int pullExitCode = pullProcess.waitFor();
-                        if (pullExitCode != 0) {
-                            Platform.runLater(() -> {
-                                appendToBuildLog("WARNING: Git pull failed with exit code: " + pullExitCode + "\n");
-                                appendToBuildLog("Continuing with build...\n");
-                            });
-                        }
-                    }
+                // The history index is read here, off the FX thread
+                BuildScheduler.Plan plan = BuildScheduler.plan(repos.stream().map(Repository::getName).toList(),
+                    slots, buildHistory::estimateMillis);
+                long batchStart = System.currentTimeMillis();
+                String prediction = formatPrediction(plan, batchStart);
+                Platform.runLater(() -> {
+                    buildStatusLabel.setText("Building " + repos.size() + " repositories" + prediction);
+                    appendToBuildLog("=== Batch: " + String.join(", ", plan.order()) + " on " + plan.slots()
+                        + (plan.slots() == 1 ? " worker" : " workers") + prediction + " ===\n");
+                });
 
-                    // Step 4: Build logic for opt-soa or others
-                    if (finalRepository.getName().equalsIgnoreCase("opt-soa")) {
-                        appendToBuildLog("[DIAG] About to start Maven process for opt-soa...\n");
-                        appendToBuildLog("[DIAG] opt-soa build directory: " + finalRepoPath.toString() + "\n");
-                        if (!new File(finalRepoPath.toFile(), "pom.xml").exists()) {
-                            appendToBuildLog("[DIAG] pom.xml not found in opt-soa directory!\n");
-                        } else {
-                            appendToBuildLog("[DIAG] pom.xml found in opt-soa directory.\n");
-                        }
-                        appendToBuildLog("=== Running mvn clean install for opt-soa ===\n");
-                        ProcessBuilder mvnBuild;
-                        String os = System.getProperty("os.name").toLowerCase();
-                        if (os.contains("win")) {
-                            mvnBuild = new ProcessBuilder("cmd", "/c", "mvn", "clean", "install");
-                        } else {
-                            mvnBuild = new ProcessBuilder("mvn", "clean", "install");
-                        }
-                        mvnBuild.directory(finalRepoPath.toFile());
-                        mvnBuild.redirectErrorStream(true);
-
-                        String commandStr = String.join(" ", mvnBuild.command());
-                        appendToBuildLog("Executing: " + commandStr + "\n");
-                        appendToBuildLog("Working directory: " + repoPath.toString() + "\n\n");
-
-                        Process mvnProcess;
-                        try {
-                            mvnProcess = mvnBuild.start();
-                            appendToBuildLog("[DIAG] Maven process started.\n");
-                            appendToBuildLog("[DIAG] Exception occurred while starting Maven process.\n");
-                        } catch (IOException e) {
-                            Platform.runLater(() -> {
-                                appendToBuildLog("[DIAG] ERROR: Failed to start Maven process: " + e.getMessage() + "\n");
-                                appendToBuildLog("This might indicate that Maven is not installed or not in PATH.\n");
-                                appendToBuildLog("Please ensure Maven is properly installed.\n");
-                                buildStatusLabel.setText("Build Failed - Maven not found");
-                                buildMasterButton.setDisable(false);
-                            });
-                            return null;
-                        }
+                List<BuildService.BuildJob> jobs = new ArrayList<>();
+                for (String name : plan.order()) {
+                    Consumer<String> log = plan.slots() == 1
+                        ? MainController.this::appendToBuildLog
+                        : text -> appendToBuildLog(BuildService.prefixLines("[" + name + "] ", text));
+                    Path repoPath = BuildService.resolveRepositoryPath(name, basePath, soaPath);
+                    jobs.add(new BuildService.BuildJob(name, repoPath, log));
+                }
 
-                        try (BufferedReader reader = new BufferedReader(new InputStreamReader(mvnProcess.getInputStream()))) {
-                            String line;
-                            while ((line = reader.readLine()) != null) {
-                                final String logLine = line != null ? line : "";
-                                if (Platform.isFxApplicationThread()) {
-                                    appendToBuildLog(logLine + "\n");
-                                } else {
-                                    Platform.runLater(() -> appendToBuildLog(logLine + "\n"));
-                                }
-                            }
+                AtomicInteger finished = new AtomicInteger();
+                ExecutorService workers = Executors.newFixedThreadPool(plan.slots(), runnable -> {
+                    Thread thread = new Thread(runnable, "build-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                try {
+                    buildService.buildAll(jobs, deploymentPath, workers, new BuildService.BatchListener() {
+                        @Override
+                        public void started(BuildService.BuildJob job) {
+                            job.log().accept("\n=== Batch: Building " + job.repositoryName() + " ===\n");
                         }
 
-                        int mvnExitCode = mvnProcess.waitFor();
-                        Platform.runLater(() -> {
-                            if (mvnExitCode == 0) {
-                                appendToBuildLog("\n=== Build Completed Successfully ===\n");
-                                buildStatusLabel.setText("Build Successful - Deploying...");
-                                // Start deployment in background
-                                Task<Void> deployTask = createDeploymentTask(finalRepository, finalRepoPath);
-                                Thread deployThread = new Thread(deployTask);
-                                deployThread.setDaemon(true);
-                                deployThread.start();
-                            } else {
-                                appendToBuildLog("\nERROR: mvn clean install failed with exit code: " + mvnExitCode + "\n");
-                                buildStatusLabel.setText("Build Failed");
-                                buildMasterButton.setDisable(false);
+                        @Override
+                        public void finished(BuildService.BuildJob job, BuildRecord record) {
+                            if (record.success() || !buildService.isCancelled()) {
+                                // A build killed by Cancel says nothing about the repository
+                                buildHistory.append(record);
                             }
-                        });
-                    } else {
-                        // Step 4: Check for package.json
-                        appendToBuildLog("=== Checking for package.json ===\n");
-                        if (!Files.exists(repoPath.resolve("package.json"))) {
-                            Platform.runLater(() -> {
-                                appendToBuildLog("ERROR: package.json not found in repository\n");
-                                buildStatusLabel.setText("Build Failed");
-                                buildMasterButton.setDisable(false);
-                            });
-                            return null;
-                        }
-
-                        // Step 5: Run npm run build
-                        appendToBuildLog("=== Running npm run build ===\n");
-
-                        // Create npm command for Windows compatibility
-                        ProcessBuilder npmBuild;
-                        String os = System.getProperty("os.name").toLowerCase();
-                        if (os.contains("win")) {
-                            // On Windows, use cmd to run npm
-                            npmBuild = new ProcessBuilder("cmd", "/c", "npm", "run", "build");
-                        } else {
-                            // On Unix-like systems
-                            npmBuild = new ProcessBuilder("npm", "run", "build");
-                        }
-
-                        npmBuild.directory(finalRepoPath.toFile());
-                        npmBuild.redirectErrorStream(true);
-
-                        // Log the command being executed
-                        String commandStr = String.join(" ", npmBuild.command());
-                        appendToBuildLog("Executing: " + commandStr + "\n");
-                        appendToBuildLog("Working directory: " + repoPath.toString() + "\n\n");
-
-                        Process npmProcess;
-                        try {
-                            npmProcess = npmBuild.start();
-                        } catch (IOException e) {
-                            Platform.runLater(() -> {
-                                appendToBuildLog("ERROR: Failed to start npm process: " + e.getMessage() + "\n");
-                                appendToBuildLog("This might indicate that npm is not installed or not in PATH.\n");
-                                appendToBuildLog("Please ensure Node.js and npm are properly installed.\n");
-                                buildStatusLabel.setText("Build Failed - npm not found");
-                                buildMasterButton.setDisable(false);
-                            });
-                            return null;
+                            int done = finished.incrementAndGet();
+                            job.log().accept("=== Batch: " + job.repositoryName() + " " + (record.success() ? "SUCCEEDED" : "FAILED")
+                                + " in " + formatDuration(record.durationMillis()) + " ===\n");
+                            Platform.runLater(() -> buildStatusLabel.setText("Built " + done + "/" + repos.size() + prediction));
                         }
 
-                        try (BufferedReader reader = new BufferedReader(new InputStreamReader(npmProcess.getInputStream()))) {
-                            String line;
-                            while ((line = reader.readLine()) != null) {
-                                final String logLine = line != null ? line : "";
-                                Platform.runLater(() -> appendToBuildLog(logLine + "\n"));
-                            }
+                        @Override
+                        public void skipped(BuildService.BuildJob job) {
+                            job.log().accept("=== Batch: " + job.repositoryName() + " skipped (cancelled) ===\n");
                         }
-
-                        int npmExitCode = npmProcess.waitFor();
-                        Platform.runLater(() -> {
-                            if (npmExitCode == 0) {
-                                appendToBuildLog("\n=== Build Completed Successfully ===\n");
-                                buildStatusLabel.setText("Build Successful - Deploying...");
-                                // Start deployment in background
-                                Task<Void> deployTask = createDeploymentTask(finalRepository, finalRepoPath);
-                                Thread deployThread = new Thread(deployTask);
-                                deployThread.setDaemon(true);
-                                deployThread.start();
-                            } else {
-                                appendToBuildLog("\nERROR: npm run build failed with exit code: " + npmExitCode + "\n");
-                                buildStatusLabel.setText("Build Failed");
-                                buildMasterButton.setDisable(false);
-                            }
-                        });
-                    }
-
-                } catch (Exception e) {
-                    Platform.runLater(() -> {
-                        appendToBuildLog("ERROR: " + e.getMessage() + "\n");
-                        buildStatusLabel.setText("Build Failed");
-                        buildMasterButton.setDisable(false);
                     });
-                    logger.error("Build process failed", e);
-                }
-
-                return null;
-            }
-        };
-
-        // Run build task in background
-        Thread buildThread = new Thread(buildTask);
-        buildThread.setDaemon(true);
-        buildThread.start();
-    }
-
-    /**
-     * Start a sequential batch build for multiple repositories.
-     */
-    private void startBatchBuild(List<Repository> repos) {
-        // Hide table and show build log once for the batch
-        if (buildLogContainer != null) buildLogContainer.setVisible(true);
-        repoTable.setVisible(false);
-        buildMasterButton.setDisable(true);
-
-        Task<Void> batchTask = new Task<>() {
-            @Override
-            protected Void call() throws Exception {
-                for (Repository r : repos) {
-                    Platform.runLater(() -> appendToBuildLog("\n=== Batch: Building " + r.getName() + " ===\n"));
-                    boolean success = buildRepository(r);
-                    Platform.runLater(() -> appendToBuildLog("=== Batch: " + r.getName() + " " + (success ? "SUCCEEDED" : "FAILED") + " ===\n"));
-                    // small pause between builds
-                    try { Thread.sleep(200); } catch (InterruptedException ignored) {}
+                } finally {
+                    workers.shutdown();
                 }
 
+                long elapsed = System.currentTimeMillis() - batchStart;
                 Platform.runLater(() -> {
-                    buildStatusLabel.setText("Batch build completed");
+                    buildStatusLabel.setText(buildService.isCancelled()
+                        ? "Batch build cancelled after " + formatDuration(elapsed)
+                        : "Batch build completed in " + formatDuration(elapsed)
+                            + (plan.predictedMillis() > 0 ? " (predicted " + formatDuration(plan.predictedMillis()) + ")" : ""));
+                    cancelBuildButton.setDisable(true);
                     buildMasterButton.setDisable(false);
                     repoTable.setVisible(true);
                     buildLogContainer.setVisible(false);
@@ -1167,6 +1236,12 @@ public class MainController implements Initializable {
                 return null;
             }
         };
+        batchTask.setOnFailed(e -> {
+            logger.error("Batch build failed", batchTask.getException());
+            buildStatusLabel.setText("Batch build failed: " + batchTask.getException().getMessage());
+            cancelBuildButton.setDisable(true);
+            buildMasterButton.setDisable(false);
+        });
 
         Thread t = new Thread(batchTask);
         t.setDaemon(true);
@@ -1174,313 +1249,27 @@ public class MainController implements Initializable {
     }
 
     /**
-     * Build a single repository synchronously on the calling thread and return success.
-     * This method reuses the existing startBuildProcess logic but extracts the core
-     * steps so they can be called sequentially for batch builds.
+     * Predicted finish of a batch from the build history, e.g. " - about 12 min, done around 14:32"
      */
-    private boolean buildRepository(Repository repository) {
-        try {
-            // replicate the setup used in startBuildProcess to determine repoPath
-            String basePath = basePathField.getText().trim();
-            Path repoPath;
-            if (repository.getName().equalsIgnoreCase("opt-soa")) {
-                String soaPath = soaPathLabel.getText().trim();
-                repoPath = Paths.get(soaPath, "opt-soa");
-            } else {
-                repoPath = Paths.get(basePath, repository.getName());
-            }
-            if (!Files.exists(repoPath)) {
-                Platform.runLater(() -> appendToBuildLog("ERROR: Repository path does not exist: " + repoPath + "\n"));
-                return false;
-            }
-
-            // We'll run the same steps as in startBuildProcess but synchronously here.
-            // Step 1: Git (skip for opt-soa)
-            if (!repository.getName().equalsIgnoreCase("opt-soa")) {
-                appendToBuildLog("=== Checking Git Repository ===\n");
-                if (!Files.exists(repoPath.resolve(".git"))) {
-                    appendToBuildLog("ERROR: Not a git repository: " + repoPath + "\n");
-                    return false;
-                }
-                // checkout and pull
-                ProcessBuilder gitCheckout = new ProcessBuilder("git", "checkout", "master");
-                gitCheckout.directory(repoPath.toFile());
-                gitCheckout.redirectErrorStream(true);
-                Process gitProcess = gitCheckout.start();
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(gitProcess.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) appendToBuildLog(line + "\n");
-                }
-                int gitExit = gitProcess.waitFor();
-                if (gitExit != 0) { appendToBuildLog("ERROR: Git checkout failed: " + gitExit + "\n"); return false; }
-
-                ProcessBuilder gitPull = new ProcessBuilder("git", "pull");
-                gitPull.directory(repoPath.toFile());
-                gitPull.redirectErrorStream(true);
-                Process pull = gitPull.start();
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(pull.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) appendToBuildLog(line + "\n");
-                }
-            }
-
-            // Step 2: Build (mvn for opt-soa, npm for others)
-            if (repository.getName().equalsIgnoreCase("opt-soa")) {
-                appendToBuildLog("=== Running mvn clean install for opt-soa ===\n");
-                ProcessBuilder mvnBuild = System.getProperty("os.name").toLowerCase().contains("win")
-                        ? new ProcessBuilder("cmd", "/c", "mvn", "clean", "install")
-                        : new ProcessBuilder("mvn", "clean", "install");
-                mvnBuild.directory(repoPath.toFile());
-                mvnBuild.redirectErrorStream(true);
-                Process mvn = mvnBuild.start();
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(mvn.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) appendToBuildLog(line + "\n");
-                }
-                int code = mvn.waitFor();
-                if (code != 0) { appendToBuildLog("ERROR: mvn failed with code " + code + "\n"); return false; }
-            } else {
-                // npm build
-                appendToBuildLog("=== Running npm run build ===\n");
-                ProcessBuilder npmBuild = System.getProperty("os.name").toLowerCase().contains("win")
-                        ? new ProcessBuilder("cmd", "/c", "npm", "run", "build")
-                        : new ProcessBuilder("npm", "run", "build");
-                npmBuild.directory(repoPath.toFile());
-                npmBuild.redirectErrorStream(true);
-                Process npm = npmBuild.start();
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(npm.getInputStream()))) {
-                    String line;
-                    while ((line = reader.readLine()) != null) appendToBuildLog(line + "\n");
-                }
-                int code = npm.waitFor();
-                if (code != 0) { appendToBuildLog("ERROR: npm build failed with code " + code + "\n"); return false; }
-            }
-
-            // Start deployment for this repo synchronously
-            Task<Void> deployTask = createDeploymentTask(repository, repoPath);
-            deployTask.run(); // run in this thread synchronously
-            return true;
-        } catch (Exception e) {
-            appendToBuildLog("ERROR: Batch build exception: " + e.getMessage() + "\n");
-            logger.error("Batch build failed", e);
-            return false;
+    private static String formatPrediction(BuildScheduler.Plan plan, long startMillis) {
+        if (plan.predictedMillis() <= 0) {
+            return "";
         }
+        LocalTime finish = LocalTime.now().plus(java.time.Duration.ofMillis(plan.predictedMillis()
+            - (System.currentTimeMillis() - startMillis)));
+        return " - about " + formatDuration(plan.predictedMillis()) + ", done around "
+            + finish.format(DateTimeFormatter.ofPattern("HH:mm"))
+            + (plan.unknownRepositories() > 0 ? " (" + plan.unknownRepositories() + " without history)" : "");
     }
-    
-    /**
-     * Create deployment task to copy WAR file to deployment directory
-     */
-    private Task<Void> createDeploymentTask(Repository repository, Path repoPath) {
-        return new Task<Void>() {
-            @Override
-            protected Void call() throws Exception {
-                try {
-                    Platform.runLater(() -> appendToBuildLog("\n=== Starting Deployment ===\n"));
-                    
-                    // Get deployment path
-                    String deploymentPath = deploymentPathField.getText();
-                    if (deploymentPath == null || deploymentPath.trim().isEmpty()) {
-                        Platform.runLater(() -> {
-                            appendToBuildLog("ERROR: No deployment path specified\n");
-                            buildStatusLabel.setText("Deployment Failed - No path");
-                            buildMasterButton.setDisable(false);
-                        });
-                        return null;
-                    }
-                    
-                    Path deploymentDir = Path.of(deploymentPath.trim());
-                    if (!Files.exists(deploymentDir) || !Files.isDirectory(deploymentDir)) {
-                        Platform.runLater(() -> {
-                            appendToBuildLog("ERROR: Deployment directory does not exist: " + deploymentPath + "\n");
-                            buildStatusLabel.setText("Deployment Failed - Invalid path");
-                            buildMasterButton.setDisable(false);
-                        });
-                        return null;
-                    }
-                    
-                    // Special case for opt-soa: look for WAR files under SOA/target
-                    Path targetDir;
-                    if (repository.getName().equalsIgnoreCase("opt-soa")) {
-                        targetDir = repoPath.resolve("SOA").resolve("target");
-                    } else {
-                        targetDir = repoPath.resolve("target");
-                        if (!Files.exists(targetDir)) {
-                            // Try dist directory for some projects
-                            targetDir = repoPath.resolve("dist");
-                        }
-                        if (!Files.exists(targetDir)) {
-                            // Try build directory
-                            targetDir = repoPath.resolve("build");
-                        }
-                    }
-
-                    final Path finalTargetDir = targetDir;
 
-                    if (!Files.exists(finalTargetDir)) {
-                        Platform.runLater(() -> {
-                            appendToBuildLog("ERROR: No target/dist/build directory found in repository\n");
-                            buildStatusLabel.setText("Deployment Failed - No build output");
-                            buildMasterButton.setDisable(false);
-                        });
-                        return null;
-                    }
-                    
-                    Platform.runLater(() -> appendToBuildLog("Looking for WAR files in: " + finalTargetDir + "\n"));
-                    
-                    // Find WAR files
-                    List<Path> warFiles = new ArrayList<>();
-                    try (DirectoryStream<Path> stream = Files.newDirectoryStream(finalTargetDir, "*.war")) {
-                        for (Path warFile : stream) {
-                            warFiles.add(warFile);
-                        }
-                    }
-                    
-                    if (warFiles.isEmpty()) {
-                        Platform.runLater(() -> {
-                            appendToBuildLog("ERROR: No WAR files found in build output directory\n");
-                            buildStatusLabel.setText("Deployment Failed - No WAR files");
-                            buildMasterButton.setDisable(false);
-                        });
-                        return null;
-                    }
-                    
-                    // Deploy each WAR file
-                    for (Path warFile : warFiles) {
-                        String warFileName = warFile.getFileName().toString();
-                        
-                        // Extract version from new WAR file name
-                        String newVersion = extractVersionFromWarFile(warFileName);
-                        String displayVersion = newVersion.isEmpty() ? "unknown" : newVersion;
-                        
-                        Platform.runLater(() -> appendToBuildLog("Preparing to deploy: " + warFileName + " (version: " + displayVersion + ")\n"));
-                        
-                        // Find and delete existing WAR files for this repository
-                        String repoName = repository.getName();
-                        deleteExistingWarFiles(deploymentDir, repoName, warFileName);
-                        
-                        // Deploy the new WAR file
-                        Path deploymentTarget = deploymentDir.resolve(warFileName);
-                        Platform.runLater(() -> appendToBuildLog("Deploying new WAR: " + warFileName + "\n"));
-                        
-                        Files.copy(warFile, deploymentTarget, StandardCopyOption.REPLACE_EXISTING);
-                        
-                        Platform.runLater(() -> appendToBuildLog("Successfully deployed: " + warFileName + " (version: " + displayVersion + ") -> " + deploymentTarget + "\n"));
-                    }
-                    
-                    Platform.runLater(() -> {
-                        appendToBuildLog("\n=== Deployment Completed Successfully ===\n");
-                        appendToBuildLog("Deployed " + warFiles.size() + " WAR file(s) to: " + deploymentPath + "\n");
-                        buildStatusLabel.setText("Build & Deployment Successful");
-                        buildMasterButton.setDisable(false);
-                    });
-                    
-                } catch (Exception e) {
-                    Platform.runLater(() -> {
-                        appendToBuildLog("ERROR: Deployment failed - " + e.getMessage() + "\n");
-                        buildStatusLabel.setText("Deployment Failed");
-                        buildMasterButton.setDisable(false);
-                    });
-                    logger.error("Deployment failed", e);
-                }
-                
-                return null;
-            }
-        };
-    }
-    
-    /**
-     * Delete existing WAR files for the repository in the deployment directory
-     */
-    private void deleteExistingWarFiles(Path deploymentDir, String repoName, String newWarFileName) {
-        try {
-            // Create patterns to match WAR files for this repository
-            List<String> patterns = createWarFilePatterns(repoName);
-            
-            Platform.runLater(() -> appendToBuildLog("Checking for existing WAR files for repository: " + repoName + "\n"));
-            
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(deploymentDir, "*.war")) {
-                for (Path existingWar : stream) {
-                    String existingWarName = existingWar.getFileName().toString();
-                    
-                    // Don't delete the same file we're about to deploy
-                    if (existingWarName.equals(newWarFileName)) {
-                        continue;
-                    }
-                    
-                    // Check if this WAR file belongs to the same repository
-                    if (isWarFileForRepository(existingWarName, patterns)) {
-                        String oldVersion = extractVersionFromWarFile(existingWarName);
-                        String displayOldVersion = oldVersion.isEmpty() ? "unknown" : oldVersion;
-                        
-                        Platform.runLater(() -> appendToBuildLog("Found existing WAR file: " + existingWarName + " (version: " + displayOldVersion + ")\n"));
-                        Platform.runLater(() -> appendToBuildLog("Deleting old WAR file: " + existingWarName + "\n"));
-                        
-                        Files.delete(existingWar);
-                        
-                        Platform.runLater(() -> appendToBuildLog("Successfully deleted: " + existingWarName + "\n"));
-                    }
-                }
-            }
-        } catch (Exception e) {
-            Platform.runLater(() -> appendToBuildLog("Warning: Failed to clean up existing WAR files: " + e.getMessage() + "\n"));
-            logger.warn("Failed to clean up existing WAR files for repository: " + repoName, e);
-        }
-    }
-    
-    /**
-     * Create patterns to match WAR files for a repository
-     */
-    private List<String> createWarFilePatterns(String repoName) {
-        List<String> patterns = new ArrayList<>();
-        
-        // Standard AMPT pattern: ampt-<repo>-<version>.war
-        if (repoName.startsWith("opt-")) {
-            String amptName = repoName.substring(4); // Remove "opt-" prefix
-            patterns.add("ampt-" + amptName + "-");
-        }
-        
-        // SOA pattern: opt-soa-<version>.war
-        if ("opt-soa".equals(repoName)) {
-            patterns.add("opt-soa-");
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        if (seconds < 60) {
+            return seconds + " s";
         }
-        
-        // Direct pattern: <repo>-<version>.war
-        patterns.add(repoName + "-");
-        
-        return patterns;
+        return (seconds + 30) / 60 + " min";
     }
-    
-    /**
-     * Check if a WAR file belongs to the given repository
-     */
-    private boolean isWarFileForRepository(String warFileName, List<String> patterns) {
-        for (String pattern : patterns) {
-            if (warFileName.startsWith(pattern) && warFileName.endsWith(".war")) {
-                return true;
-            }
-        }
-        return false;
-    }
-    
-    /**
-     * Extract version from WAR file name
-     */
-    private String extractVersionFromWarFile(String warFileName) {
-        // Remove .war extension
-        String baseName = warFileName.replace(".war", "");
-        
-        // Try to extract version using regex patterns
-        // Pattern 1: ampt-<name>-<version> or opt-soa-<version> or <name>-<version>
-        Pattern versionPattern = Pattern.compile(".*-(\\d+(?:\\.\\d+)*(?:-[a-zA-Z0-9]+)?)$");
-        Matcher matcher = versionPattern.matcher(baseName);
-        
-        if (matcher.find()) {
-            return matcher.group(1);
-        }
-        
-        return "";
-    }
-    
+
     private void appendToBuildLog(String text) {
         if (text == null || text.trim().isEmpty()) {
             return;
@@ -1522,39 +1311,6 @@ public class MainController implements Initializable {
         }
     }
 
-    /**
-     * Check if a repository has version mismatch between deployment, repo, and targeted versions
-     */
-    private boolean hasVersionMismatch(Repository repository) {
-        if (repository.isIgnore()) {
-            return false;
-        }
-        String deploymentVersion = repository.getDeploymentVersion();
-        String repoVersion = repository.getRepoVersion();
-        String targetedVersion = repository.getTargetedVersion();
-
-        // If deployment version is empty and repo version is present, it's a mismatch
-        if (deploymentVersion == null || deploymentVersion.trim().isEmpty()) {
-            return repoVersion != null && !repoVersion.trim().isEmpty();
-        }
-
-        // Check against repo version if it exists
-        if (repoVersion != null && !repoVersion.trim().isEmpty()) {
-            if (!deploymentVersion.equals(repoVersion)) {
-                return true;
-            }
-        }
-
-        // Check against targeted version if it exists
-        if (targetedVersion != null && !targetedVersion.trim().isEmpty()) {
-            if (!deploymentVersion.equals(targetedVersion)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     /**
      * Update deploymentVersion for repositories by scanning the deployment folder for .war files
      * Expected filename pattern example: ampt-orgchart-3.4.0.war -> repo name: opt-orgchart, version: 3.4.0
@@ -1565,116 +1321,54 @@ public class MainController implements Initializable {
             if (!depDir.exists() || !depDir.isDirectory()) {
                 return;
             }
-            // Build a map from repo key (e.g., orgchart) to version from WAR files
-            Map<String, String> deployedVersions = new HashMap<>();
-            File[] warFiles = depDir.listFiles((dir, name) -> name.toLowerCase().endsWith(".war"));
-            // Map from war file name (lowercase) to last modified date string
-            Map<String, String> warModifiedMap = new HashMap<>();
-            if (warFiles != null) {
-                logger.info("Found {} WAR files in deployment directory", warFiles.length);
-                java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("M/d/yyyy h:mm a");
-                for (File war : warFiles) {
-                    String name = war.getName().toLowerCase();
-                    logger.debug("Processing WAR file: {}", name);
-                    String modified = sdf.format(new java.util.Date(war.lastModified()));
-                    warModifiedMap.put(name, modified);
-
-                    // Handle opt-soa pattern: opt-soa-<version>.war
-                    java.util.regex.Matcher soaMatcher = java.util.regex.Pattern
-                        .compile("^opt-soa-([0-9][a-z0-9.-]*)\\.war$")
-                        .matcher(name);
-                    if (soaMatcher.find()) {
-                        String version = soaMatcher.group(1);
-                        deployedVersions.put("soa", version);
-                        continue;
-                    }
+            applyDeploymentIndex(DeploymentIndex.scan(deploymentPath));
+        } catch (Exception e) {
+            logger.error("Error updating deployment versions from {}", deploymentPath, e);
+        }
+    }
 
-                    // Handle webmap and webmap-data-service
-                    java.util.regex.Matcher webmapMatcher = java.util.regex.Pattern
-                        .compile("^(webmap|webmap-data-service)-([0-9][a-z0-9.-]*)\\.war$")
-                        .matcher(name);
-                    if (webmapMatcher.find()) {
-                        String repoKey = webmapMatcher.group(1);
-                        String version = webmapMatcher.group(2);
-                        deployedVersions.put(repoKey, version);
-                        continue;
-                    }
+    /**
+     * Set deployed versions and dates from a deployment index
+     */
+    private void applyDeploymentIndex(DeploymentIndex deploymentIndex) {
+        // Set only the values that changed so unchanged rows are not repainted
+        for (Repository repo : repositories) {
+            DeploymentIndex.DeployedArtifact artifact = deploymentIndex.lookup(repo.getName());
+            String deployedVersion = artifact != null ? artifact.version() : "";
+            String deployedModified = artifact != null ? artifact.modified() : "";
 
-                    // Handle regular ampt pattern: ampt-<suffix>-<version>.war
-                    java.util.regex.Matcher amptMatcher = java.util.regex.Pattern
-                        .compile("^ampt-([a-z0-9-]+)-([0-9][a-z0-9.-]*)\\.war$")
-                        .matcher(name);
-                    if (amptMatcher.find()) {
-                        String suffix = amptMatcher.group(1);
-                        String version = amptMatcher.group(2);
-                        deployedVersions.put(suffix, version);
-                    }
-                }
+            if (!deployedVersion.equals(repo.getDeploymentVersion())) {
+                repo.setDeploymentVersion(deployedVersion);
             }
-
-            // Clear previous deployment versions and modified dates
-            repositories.forEach(r -> { r.setDeploymentVersion(""); r.setDeploymentModified(""); });
-
-            if (!deployedVersions.isEmpty()) {
-                for (Repository repo : repositories) {
-                    String repoName = repo.getName().toLowerCase();
-                    String warFileName = null;
-                    String version = null;
-                    // map opt-<suffix> -> <suffix>
-                    if (repoName.startsWith("opt-")) {
-                        String suffix = repoName.substring(4);
-                        version = deployedVersions.get(suffix);
-                        if (version != null) {
-                            repo.setDeploymentVersion(version);
-                            warFileName = "ampt-" + suffix + "-" + version + ".war";
-                        }
-                    }
-                    // Handle webmap and webmap-data-service directly
-                    if (repoName.equals("webmap") || repoName.equals("webmap-data-service")) {
-                        version = deployedVersions.get(repoName);
-                        if (version != null) {
-                            repo.setDeploymentVersion(version);
-                            warFileName = repoName + "-" + version + ".war";
-                        }
-                    }
-                    // Handle opt-soa
-                    if (repoName.equals("opt-soa")) {
-                        version = deployedVersions.get("soa");
-                        if (version != null) {
-                            repo.setDeploymentVersion(version);
-                            warFileName = "opt-soa-" + version + ".war";
-                        }
-                    }
-                    // Set deploymentModified if warFileName found
-                    if (warFileName != null) {
-                        String modified = warModifiedMap.get(warFileName.toLowerCase());
-                        if (modified != null) {
-                            repo.setDeploymentModified(modified);
-                        }
-                    }
-                }
-                repoTable.refresh();
-                logger.info("Updated deployment versions and modified dates for {} repositories based on {} WAR files",
-                        repositories.stream().filter(r -> !r.getDeploymentVersion().isEmpty()).count(),
-                        deployedVersions.size());
+            if (!deployedModified.equals(repo.getDeploymentModified())) {
+                repo.setDeploymentModified(deployedModified);
             }
-        } catch (Exception e) {
-            logger.error("Error updating deployment versions from {}", deploymentPath, e);
+        }
+        if (deploymentIndex.size() > 0) {
+            logger.info("Updated deployment versions and modified dates for {} repositories based on {} WAR files",
+                    repositories.stream().filter(r -> !r.getDeploymentVersion().isEmpty()).count(),
+                    deploymentIndex.size());
         }
     }
     
     private void updateStatusLabel() {
-        int total = repositories.size();
-        int filtered = filteredRepositories.size();
-        int selected = (int) repositories.stream().mapToInt(repo -> repo.isSelected() ? 1 : 0).sum();
+        int total = repositorySummary.getTotalCount();
+        int filtered = repositorySummary.getVisibleCount();
+        int selected = repositorySummary.getSelectedCount();
+        int mismatched = repositorySummary.getMismatchCount();
         
+        String text;
         if (total == 0) {
-            statusLabel.setText("No repositories found");
+            text = "No repositories found";
         } else if (filtered == total) {
-            statusLabel.setText(String.format("Found %d repositories, %d selected", total, selected));
+            text = String.format("Found %d repositories, %d selected", total, selected);
         } else {
-            statusLabel.setText(String.format("Showing %d of %d repositories, %d selected", filtered, total, selected));
+            text = String.format("Showing %d of %d repositories, %d selected", filtered, total, selected);
         }
+        if (mismatched > 0) {
+            text += String.format(", %d version mismatches", mismatched);
+        }
+        statusLabel.setText(text);
     }
     
     private void showAlert(String title, String message) {
@@ -1717,8 +1411,11 @@ public class MainController implements Initializable {
                 if (text != null) {
                     filterField.setText(text);
                     logger.info("Pasted {} characters from clipboard into filter", text.length());
-                    // After pasting, select rows that have a targeted version set by the filter
-                    Platform.runLater(() -> selectRowsWithTargetedVersion());
+                    // After pasting, select rows that have a targeted version set by the filter;
+                    // a paste is a single edit, so evaluate it without waiting for the debounce
+                    runAfterFilter(this::selectRowsWithTargetedVersion);
+                    filterDebounce.stop();
+                    scheduleFilter(text);
                 }
             } else {
                 showAlert("Clipboard", "Clipboard has no text to paste.");
@@ -1758,10 +1455,6 @@ public class MainController implements Initializable {
                 // do not change selection for repos without targeted version
             }
         }
-        repoTable.refresh();
-        updateHeaderCheckboxState();
-        updateBuildButtonState();
-        updateStatusLabel();
         logger.info("Auto-selected {} repositories based on targeted versions", selectedCount);
     }
 
@@ -1777,30 +1470,7 @@ public class MainController implements Initializable {
                 return;
             }
 
-            Media media = new Media(videoUrl.toString());
-            MediaPlayer mediaPlayer = new MediaPlayer(media);
-            MediaView mediaView = new MediaView(mediaPlayer);
-            
-            // Set up the media view
-            mediaView.setFitWidth(800);
-            mediaView.setFitHeight(600);
-            mediaView.setPreserveRatio(true);
-
-            // Create a new stage for the video
-            Stage videoStage = new Stage();
-            videoStage.setTitle("How to Copy - Tutorial Video");
-            videoStage.setScene(new javafx.scene.Scene(new javafx.scene.layout.StackPane(mediaView), 800, 600));
-            
-            // Play the video when the stage is shown
-            videoStage.setOnShown(e -> mediaPlayer.play());
-            
-            // Clean up when the stage is closed
-            videoStage.setOnCloseRequest(e -> {
-                mediaPlayer.stop();
-                mediaPlayer.dispose();
-            });
-            
-            videoStage.show();
+            HowToCopyVideo.show(videoUrl);
             logger.info("Playing How to Copy video");
             
         } catch (Exception e) {
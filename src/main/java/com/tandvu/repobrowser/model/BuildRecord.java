@@ -0,0 +1,48 @@
+package com.tandvu.repobrowser.model;
+
+import java.util.List;
+
+/**
+ * Outcome of building and deploying one repository, as stored in the build history.
+ *
+ * @param repository Repository name
+ * @param commit Commit that was built (short hash), or empty string if unknown
+ * @param startTime Start of the build, epoch milliseconds
+ * @param endTime End of the build, epoch milliseconds
+ * @param success true if every stage succeeded
+ * @param stages Stages in the order they ran; a failed build ends with its failing stage
+ * @param deployedArtifacts File names of the deployed WAR files
+ */
+public record BuildRecord(String repository, String commit, long startTime, long endTime, boolean success,
+                          List<Stage> stages, List<String> deployedArtifacts) {
+
+    public BuildRecord {
+        commit = commit != null ? commit : "";
+        stages = stages != null ? List.copyOf(stages) : List.of();
+        deployedArtifacts = deployedArtifacts != null ? List.copyOf(deployedArtifacts) : List.of();
+    }
+
+    public long durationMillis() {
+        return endTime - startTime;
+    }
+
+    /**
+     * One step of a build, e.g. git-pull, npm, mvn or deploy
+     *
+     * @param name Stage name
+     * @param durationMillis Wall-clock duration
+     * @param exitCode Process exit code, -1 if the process was killed (timeout or cancel);
+     *                 for deploy 0 on success and 1 on failure
+     * @param cpuMillis CPU time of the process tree, or -1 if not measured
+     * @param peakRssBytes Peak resident memory of the process tree, or -1 if not measured
+     * @param detail How the stage ran, e.g. "incremental: SOA,common", or empty string
+     * @param savedMillis Estimated time saved compared to a full run of the stage, 0 if none
+     */
+    public record Stage(String name, long durationMillis, int exitCode, long cpuMillis, long peakRssBytes,
+                        String detail, long savedMillis) {
+
+        public Stage {
+            detail = detail != null ? detail : "";
+        }
+    }
+}
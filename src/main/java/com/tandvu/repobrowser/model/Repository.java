@@ -1,156 +1,375 @@
 package com.tandvu.repobrowser.model;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
- * Model class representing a repository
+ * Observable view of a repository used by the table.
+ * Values are held in plain fields; each JavaFX property is created on first access
+ * (typically by a table cell of a visible row) and takes over the value from then on.
+ * Code that observes every repository (list extractor, summary counts, ignore persistence)
+ * uses the lightweight {@link #filterChanges()}, {@link #selectionChanges()} and
+ * {@link #ignoreChanges()} notifications, which do not create the properties.
  */
 public class Repository {
-    
-    private final StringProperty name;
-    private final StringProperty path;
-    private final BooleanProperty selected;
-    private final StringProperty repoVersion;
-    private final StringProperty targetedVersion;
-    private final StringProperty deploymentVersion;
-    private final StringProperty deploymentModified; // Date/time of deployment WAR file
-    private final BooleanProperty ignore; // Added ignore property
-    
+
+    private String name;
+    private String path;
+    private boolean selected;
+    private String repoVersion;
+    private String targetedVersion = "";
+    private String deploymentVersion = "";
+    private String deploymentModified = ""; // Date/time of deployment WAR file
+    private boolean ignore; // Added ignore property
+    private boolean matchesFilter = true; // Whether the repository matches the current text filter
+
+    // Lazily created properties
+    private StringProperty nameProperty;
+    private StringProperty pathProperty;
+    private BooleanProperty selectedProperty;
+    private StringProperty repoVersionProperty;
+    private StringProperty targetedVersionProperty;
+    private StringProperty deploymentVersionProperty;
+    private StringProperty deploymentModifiedProperty;
+    private BooleanProperty ignoreProperty;
+    private BooleanProperty matchesFilterProperty;
+
+    // Lazily created change notifications
+    private Notifier filterChanges;
+    private Notifier selectionChanges;
+    private Notifier ignoreChanges;
+
     public Repository(String name, String path) {
-        this.name = new SimpleStringProperty(name);
-        this.path = new SimpleStringProperty(path);
-        this.selected = new SimpleBooleanProperty(false);
-        this.repoVersion = new SimpleStringProperty("");
-        this.targetedVersion = new SimpleStringProperty("");
-        this.deploymentVersion = new SimpleStringProperty("");
-        this.deploymentModified = new SimpleStringProperty("");
-        this.ignore = new SimpleBooleanProperty(false); // Initialize ignore property
+        this.name = name;
+        this.path = path;
+        this.repoVersion = "";
+    }
+
+    /**
+     * Create an observable repository from a scan result
+     */
+    public Repository(RepositorySnapshot snapshot) {
+        this(snapshot.name(), snapshot.path());
+        this.repoVersion = snapshot.repoVersion();
+    }
+
+    /**
+     * @return Immutable scan-level view of this repository
+     */
+    public RepositorySnapshot toSnapshot() {
+        return new RepositorySnapshot(getName(), getPath(), getRepoVersion());
     }
 
     // Deployment Modified property
     public String getDeploymentModified() {
-        return deploymentModified.get();
+        return deploymentModifiedProperty != null ? deploymentModifiedProperty.get() : deploymentModified;
     }
 
     public void setDeploymentModified(String deploymentModified) {
-        this.deploymentModified.set(deploymentModified != null ? deploymentModified : "");
+        String value = deploymentModified != null ? deploymentModified : "";
+        if (deploymentModifiedProperty != null) {
+            deploymentModifiedProperty.set(value);
+        } else {
+            this.deploymentModified = value;
+        }
     }
 
     public StringProperty deploymentModifiedProperty() {
-        return deploymentModified;
+        if (deploymentModifiedProperty == null) {
+            deploymentModifiedProperty = new SimpleStringProperty(this, "deploymentModified", deploymentModified);
+        }
+        return deploymentModifiedProperty;
     }
-    
+
     // Name property
     public String getName() {
-        return name.get();
+        return nameProperty != null ? nameProperty.get() : name;
     }
-    
+
     public void setName(String name) {
-        this.name.set(name);
+        if (nameProperty != null) {
+            nameProperty.set(name);
+        } else {
+            this.name = name;
+        }
     }
-    
+
     public StringProperty nameProperty() {
-        return name;
+        if (nameProperty == null) {
+            nameProperty = new SimpleStringProperty(this, "name", name);
+        }
+        return nameProperty;
     }
-    
+
     // Path property
     public String getPath() {
-        return path.get();
+        return pathProperty != null ? pathProperty.get() : path;
     }
-    
+
     public void setPath(String path) {
-        this.path.set(path);
+        if (pathProperty != null) {
+            pathProperty.set(path);
+        } else {
+            this.path = path;
+        }
     }
-    
+
     public StringProperty pathProperty() {
-        return path;
+        if (pathProperty == null) {
+            pathProperty = new SimpleStringProperty(this, "path", path);
+        }
+        return pathProperty;
     }
-    
+
     // Selected property
     public boolean isSelected() {
-        return selected.get();
+        return selectedProperty != null ? selectedProperty.get() : selected;
     }
-    
+
     public void setSelected(boolean selected) {
-        this.selected.set(selected);
+        if (selectedProperty != null) {
+            selectedProperty.set(selected);
+        } else if (this.selected != selected) {
+            this.selected = selected;
+            fire(selectionChanges);
+        }
     }
-    
+
     public BooleanProperty selectedProperty() {
-        return selected;
+        if (selectedProperty == null) {
+            selectedProperty = new SimpleBooleanProperty(this, "selected", selected);
+            selectedProperty.addListener((obs, oldValue, newValue) -> fire(selectionChanges));
+        }
+        return selectedProperty;
     }
-    
+
     // Repo Version property
     public String getRepoVersion() {
-        return repoVersion.get();
+        return repoVersionProperty != null ? repoVersionProperty.get() : repoVersion;
     }
-    
+
     public void setRepoVersion(String repoVersion) {
-        this.repoVersion.set(repoVersion != null ? repoVersion : "");
+        String value = repoVersion != null ? repoVersion : "";
+        if (repoVersionProperty != null) {
+            repoVersionProperty.set(value);
+        } else if (!value.equals(this.repoVersion)) {
+            this.repoVersion = value;
+            fire(filterChanges);
+        }
     }
-    
+
     public StringProperty repoVersionProperty() {
-        return repoVersion;
+        if (repoVersionProperty == null) {
+            repoVersionProperty = new SimpleStringProperty(this, "repoVersion", repoVersion);
+            repoVersionProperty.addListener((obs, oldValue, newValue) -> fire(filterChanges));
+        }
+        return repoVersionProperty;
     }
-    
+
     // Targeted Version property
     public String getTargetedVersion() {
-        return targetedVersion.get();
+        return targetedVersionProperty != null ? targetedVersionProperty.get() : targetedVersion;
     }
-    
+
     public void setTargetedVersion(String targetedVersion) {
-        this.targetedVersion.set(targetedVersion != null ? targetedVersion : "");
+        String value = targetedVersion != null ? targetedVersion : "";
+        if (targetedVersionProperty != null) {
+            targetedVersionProperty.set(value);
+        } else if (!value.equals(this.targetedVersion)) {
+            this.targetedVersion = value;
+            fire(filterChanges);
+        }
     }
-    
+
     public StringProperty targetedVersionProperty() {
-        return targetedVersion;
+        if (targetedVersionProperty == null) {
+            targetedVersionProperty = new SimpleStringProperty(this, "targetedVersion", targetedVersion);
+            targetedVersionProperty.addListener((obs, oldValue, newValue) -> fire(filterChanges));
+        }
+        return targetedVersionProperty;
     }
-    
+
     // Deployment Version property
     public String getDeploymentVersion() {
-        return deploymentVersion.get();
+        return deploymentVersionProperty != null ? deploymentVersionProperty.get() : deploymentVersion;
     }
-    
+
     public void setDeploymentVersion(String deploymentVersion) {
-        this.deploymentVersion.set(deploymentVersion != null ? deploymentVersion : "");
+        String value = deploymentVersion != null ? deploymentVersion : "";
+        if (deploymentVersionProperty != null) {
+            deploymentVersionProperty.set(value);
+        } else if (!value.equals(this.deploymentVersion)) {
+            this.deploymentVersion = value;
+            fire(filterChanges);
+        }
     }
-    
+
     public StringProperty deploymentVersionProperty() {
-        return deploymentVersion;
+        if (deploymentVersionProperty == null) {
+            deploymentVersionProperty = new SimpleStringProperty(this, "deploymentVersion", deploymentVersion);
+            deploymentVersionProperty.addListener((obs, oldValue, newValue) -> fire(filterChanges));
+        }
+        return deploymentVersionProperty;
     }
-    
+
     // Ignore property
     public boolean isIgnore() {
-        return ignore.get();
+        return ignoreProperty != null ? ignoreProperty.get() : ignore;
     }
-    
+
     public void setIgnore(boolean ignore) {
-        this.ignore.set(ignore);
+        if (ignoreProperty != null) {
+            ignoreProperty.set(ignore);
+        } else if (this.ignore != ignore) {
+            this.ignore = ignore;
+            fire(filterChanges);
+            fire(ignoreChanges);
+        }
     }
-    
+
     public BooleanProperty ignoreProperty() {
-        return ignore;
+        if (ignoreProperty == null) {
+            ignoreProperty = new SimpleBooleanProperty(this, "ignore", ignore);
+            ignoreProperty.addListener((obs, oldValue, newValue) -> {
+                fire(filterChanges);
+                fire(ignoreChanges);
+            });
+        }
+        return ignoreProperty;
     }
-    
+
+    // Matches Filter property
+    public boolean isMatchesFilter() {
+        return matchesFilterProperty != null ? matchesFilterProperty.get() : matchesFilter;
+    }
+
+    public void setMatchesFilter(boolean matchesFilter) {
+        if (matchesFilterProperty != null) {
+            matchesFilterProperty.set(matchesFilter);
+        } else if (this.matchesFilter != matchesFilter) {
+            this.matchesFilter = matchesFilter;
+            fire(filterChanges);
+        }
+    }
+
+    public BooleanProperty matchesFilterProperty() {
+        if (matchesFilterProperty == null) {
+            matchesFilterProperty = new SimpleBooleanProperty(this, "matchesFilter", matchesFilter);
+            matchesFilterProperty.addListener((obs, oldValue, newValue) -> fire(filterChanges));
+        }
+        return matchesFilterProperty;
+    }
+
+    /**
+     * Fires when a value used by the view filters or the version mismatch changes: matches filter,
+     * ignore, repo, targeted or deployment version
+     */
+    public Observable filterChanges() {
+        if (filterChanges == null) {
+            filterChanges = new Notifier(this);
+        }
+        return filterChanges;
+    }
+
+    /**
+     * Fires when the selection changes
+     */
+    public Observable selectionChanges() {
+        if (selectionChanges == null) {
+            selectionChanges = new Notifier(this);
+        }
+        return selectionChanges;
+    }
+
+    /**
+     * Fires when the ignore flag changes
+     */
+    public Observable ignoreChanges() {
+        if (ignoreChanges == null) {
+            ignoreChanges = new Notifier(this);
+        }
+        return ignoreChanges;
+    }
+
+    private static void fire(Notifier notifier) {
+        if (notifier != null) {
+            notifier.fire();
+        }
+    }
+
+    /**
+     * Change notification of one repository; fired by the setters, and by the property once it exists
+     */
+    public static final class Notifier implements Observable {
+        private final Repository repository;
+        private final List<InvalidationListener> listeners = new ArrayList<>(1);
+
+        private Notifier(Repository repository) {
+            this.repository = repository;
+        }
+
+        /**
+         * @return The repository whose value changed
+         */
+        public Repository getRepository() {
+            return repository;
+        }
+
+        @Override
+        public void addListener(InvalidationListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeListener(InvalidationListener listener) {
+            listeners.remove(listener);
+        }
+
+        private void fire() {
+            for (InvalidationListener listener : listeners.toArray(new InvalidationListener[0])) {
+                listener.invalidated(this);
+            }
+        }
+    }
+
+    /**
+     * Check if the repository has a version mismatch between deployment, repo, and targeted versions
+     */
+    public boolean hasVersionMismatch() {
+        return getVersionMismatch() != VersionMismatch.NONE;
+    }
+
+    /**
+     * @return Why the deployed version does not match, {@link VersionMismatch#NONE} if it does
+     */
+    public VersionMismatch getVersionMismatch() {
+        return VersionMismatch.of(isIgnore(), getRepoVersion(), getTargetedVersion(), getDeploymentVersion());
+    }
+
     @Override
     public String toString() {
-        return String.format("Repository{name='%s', path='%s', selected=%s, repoVersion='%s', targetedVersion='%s', deploymentVersion='%s', deploymentModified='%s'}", 
+        return String.format("Repository{name='%s', path='%s', selected=%s, repoVersion='%s', targetedVersion='%s', deploymentVersion='%s', deploymentModified='%s'}",
             getName(), getPath(), isSelected(), getRepoVersion(), getTargetedVersion(), getDeploymentVersion(), getDeploymentModified());
     }
-    
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        
+
         Repository that = (Repository) o;
         return getName().equals(that.getName()) && getPath().equals(that.getPath());
     }
-    
+
     @Override
     public int hashCode() {
         return getName().hashCode() * 31 + getPath().hashCode();
     }
-}
\ No newline at end of file
+}
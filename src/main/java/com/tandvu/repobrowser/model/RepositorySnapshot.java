@@ -0,0 +1,16 @@
+package com.tandvu.repobrowser.model;
+
+/**
+ * Immutable result of scanning one repository directory.
+ * Produced by the scanner and caches without any JavaFX dependency; the UI wraps it in a {@link Repository}.
+ *
+ * @param name Directory name of the repository
+ * @param path Absolute path of the repository
+ * @param repoVersion Detected version, or empty string if none was found
+ */
+public record RepositorySnapshot(String name, String path, String repoVersion) {
+
+    public RepositorySnapshot {
+        repoVersion = repoVersion != null ? repoVersion : "";
+    }
+}
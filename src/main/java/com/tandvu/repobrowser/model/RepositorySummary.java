@@ -0,0 +1,193 @@
+package com.tandvu.repobrowser.model;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incrementally maintained counts over the repository list and its visible (filtered) view.
+ * Counts are updated from list changes and per-repository property deltas, so reading them
+ * is O(1) and a single selection change costs O(1) instead of a stream over all repositories.
+ */
+public class RepositorySummary {
+
+    private final ReadOnlyIntegerWrapper totalCount = new ReadOnlyIntegerWrapper(this, "totalCount");
+    private final ReadOnlyIntegerWrapper visibleCount = new ReadOnlyIntegerWrapper(this, "visibleCount");
+    private final ReadOnlyIntegerWrapper selectedCount = new ReadOnlyIntegerWrapper(this, "selectedCount");
+    private final ReadOnlyIntegerWrapper visibleSelectedCount = new ReadOnlyIntegerWrapper(this, "visibleSelectedCount");
+    private final ReadOnlyIntegerWrapper mismatchCount = new ReadOnlyIntegerWrapper(this, "mismatchCount");
+
+    private final Map<Repository, Tracker> trackers = new IdentityHashMap<>();
+    private final Set<Repository> visible = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param repositories All repositories
+     * @param visibleRepositories The view currently shown in the table
+     */
+    public RepositorySummary(ObservableList<Repository> repositories, ObservableList<Repository> visibleRepositories) {
+        repositories.forEach(this::track);
+        visibleRepositories.forEach(this::show);
+
+        repositories.addListener((ListChangeListener<Repository>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) {
+                    continue;
+                }
+                change.getRemoved().forEach(this::untrack);
+                change.getAddedSubList().forEach(this::track);
+            }
+        });
+        visibleRepositories.addListener((ListChangeListener<Repository>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) {
+                    continue;
+                }
+                change.getRemoved().forEach(this::hide);
+                change.getAddedSubList().forEach(this::show);
+            }
+        });
+    }
+
+    private void track(Repository repo) {
+        if (trackers.containsKey(repo)) {
+            return;
+        }
+        Tracker tracker = new Tracker(repo);
+        trackers.put(repo, tracker);
+        totalCount.set(totalCount.get() + 1);
+        if (repo.isSelected()) {
+            selectedCount.set(selectedCount.get() + 1);
+        }
+        if (tracker.mismatch) {
+            mismatchCount.set(mismatchCount.get() + 1);
+        }
+    }
+
+    private void untrack(Repository repo) {
+        Tracker tracker = trackers.remove(repo);
+        if (tracker == null) {
+            return;
+        }
+        tracker.detach();
+        totalCount.set(totalCount.get() - 1);
+        if (repo.isSelected()) {
+            selectedCount.set(selectedCount.get() - 1);
+        }
+        if (tracker.mismatch) {
+            mismatchCount.set(mismatchCount.get() - 1);
+        }
+    }
+
+    private void show(Repository repo) {
+        if (visible.add(repo)) {
+            visibleCount.set(visibleCount.get() + 1);
+            if (repo.isSelected()) {
+                visibleSelectedCount.set(visibleSelectedCount.get() + 1);
+            }
+        }
+    }
+
+    private void hide(Repository repo) {
+        if (visible.remove(repo)) {
+            visibleCount.set(visibleCount.get() - 1);
+            if (repo.isSelected()) {
+                visibleSelectedCount.set(visibleSelectedCount.get() - 1);
+            }
+        }
+    }
+
+    /**
+     * Per-repository listeners; holds the last known selection and mismatch state so changes can
+     * be applied as deltas. Listens to the repository's change notifications rather than its
+     * properties, so tracking does not create them.
+     */
+    private final class Tracker {
+        private final Repository repo;
+        private boolean selected;
+        private boolean mismatch;
+
+        private final InvalidationListener selectedListener;
+        private final InvalidationListener versionListener;
+
+        Tracker(Repository repo) {
+            this.repo = repo;
+            this.selected = repo.isSelected();
+            this.mismatch = repo.hasVersionMismatch();
+
+            this.selectedListener = obs -> {
+                boolean nowSelected = repo.isSelected();
+                if (nowSelected == selected) {
+                    return;
+                }
+                selected = nowSelected;
+                int delta = nowSelected ? 1 : -1;
+                selectedCount.set(selectedCount.get() + delta);
+                if (visible.contains(repo)) {
+                    visibleSelectedCount.set(visibleSelectedCount.get() + delta);
+                }
+            };
+            this.versionListener = obs -> {
+                boolean nowMismatch = repo.hasVersionMismatch();
+                if (nowMismatch != mismatch) {
+                    mismatch = nowMismatch;
+                    mismatchCount.set(mismatchCount.get() + (nowMismatch ? 1 : -1));
+                }
+            };
+
+            repo.selectionChanges().addListener(selectedListener);
+            repo.filterChanges().addListener(versionListener);
+        }
+
+        void detach() {
+            repo.selectionChanges().removeListener(selectedListener);
+            repo.filterChanges().removeListener(versionListener);
+        }
+    }
+
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    public ReadOnlyIntegerProperty totalCountProperty() {
+        return totalCount.getReadOnlyProperty();
+    }
+
+    public int getVisibleCount() {
+        return visibleCount.get();
+    }
+
+    public ReadOnlyIntegerProperty visibleCountProperty() {
+        return visibleCount.getReadOnlyProperty();
+    }
+
+    public int getSelectedCount() {
+        return selectedCount.get();
+    }
+
+    public ReadOnlyIntegerProperty selectedCountProperty() {
+        return selectedCount.getReadOnlyProperty();
+    }
+
+    public int getVisibleSelectedCount() {
+        return visibleSelectedCount.get();
+    }
+
+    public ReadOnlyIntegerProperty visibleSelectedCountProperty() {
+        return visibleSelectedCount.getReadOnlyProperty();
+    }
+
+    public int getMismatchCount() {
+        return mismatchCount.get();
+    }
+
+    public ReadOnlyIntegerProperty mismatchCountProperty() {
+        return mismatchCount.getReadOnlyProperty();
+    }
+}
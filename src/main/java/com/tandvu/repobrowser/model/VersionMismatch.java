@@ -0,0 +1,57 @@
+package com.tandvu.repobrowser.model;
+
+/**
+ * Why the deployed version of a repository does not match its repo or targeted version.
+ * Has no JavaFX dependency, so reports can classify repositories headless.
+ */
+public enum VersionMismatch {
+    NONE(""),
+    NOT_DEPLOYED("not deployed"),
+    REPO_VERSION("deployed version differs from repo version"),
+    TARGETED_VERSION("deployed version differs from targeted version");
+
+    private final String description;
+
+    VersionMismatch(String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return Human readable reason, empty for {@link #NONE}
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Classify the versions of a repository. Ignored repositories never mismatch.
+     *
+     * @param ignore Whether the repository is ignored
+     * @param repoVersion Version in the repository, may be null or empty
+     * @param targetedVersion Version targeted by the filter, may be null or empty
+     * @param deploymentVersion Deployed version, may be null or empty
+     * @return The first mismatch found, or {@link #NONE}
+     */
+    public static VersionMismatch of(boolean ignore, String repoVersion, String targetedVersion, String deploymentVersion) {
+        if (ignore) {
+            return NONE;
+        }
+
+        // If deployment version is empty and repo version is present, it's a mismatch
+        if (deploymentVersion == null || deploymentVersion.trim().isEmpty()) {
+            return repoVersion != null && !repoVersion.trim().isEmpty() ? NOT_DEPLOYED : NONE;
+        }
+
+        // Check against repo version if it exists
+        if (repoVersion != null && !repoVersion.trim().isEmpty() && !deploymentVersion.equals(repoVersion)) {
+            return REPO_VERSION;
+        }
+
+        // Check against targeted version if it exists
+        if (targetedVersion != null && !targetedVersion.trim().isEmpty() && !deploymentVersion.equals(targetedVersion)) {
+            return TARGETED_VERSION;
+        }
+
+        return NONE;
+    }
+}
@@ -0,0 +1,155 @@
+package com.tandvu.repobrowser.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Finds the WAR file a build produced. Each repository has a list of globs relative to the
+ * repository, "directory/file-pattern" (no wildcards in the directory): SOA/target/*.war for
+ * opt-soa, target/*.war, dist/*.war and build/*.war for the others. Every directory is listed
+ * once, and of the files matching any glob and modified since the build started, the newest wins;
+ * WARs left over from earlier builds are ignored instead of being deployed again.
+ *
+ * Globs can be set per repository in ~/.repo-browser/artifacts.properties, e.g.
+ * {@code opt-orgchart = web/dist/*.war, target/*.war}; the file is read on every lookup.
+ */
+public final class ArtifactLocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArtifactLocator.class);
+
+    private static final Path DEFAULT_CONFIG_FILE = Path.of(System.getProperty("user.home"), ".repo-browser", "artifacts.properties");
+    private static final List<String> SOA_GLOBS = List.of("SOA/target/*.war");
+    private static final List<String> DEFAULT_GLOBS = List.of("target/*.war", "dist/*.war", "build/*.war");
+    // File systems with coarse timestamps can date a file written right after the start before it
+    private static final long MTIME_TOLERANCE_MILLIS = 1000;
+
+    private final Map<String, List<String>> globsByRepository;
+
+    /**
+     * @param globsByRepository Globs by lower-case repository name, replacing the defaults
+     */
+    public ArtifactLocator(Map<String, List<String>> globsByRepository) {
+        this.globsByRepository = Map.copyOf(globsByRepository);
+    }
+
+    /**
+     * Locator with the globs from ~/.repo-browser/artifacts.properties, or the defaults if there is none
+     */
+    public static ArtifactLocator load() {
+        return load(DEFAULT_CONFIG_FILE);
+    }
+
+    static ArtifactLocator load(Path configFile) {
+        Map<String, List<String>> globs = new HashMap<>();
+        if (Files.isRegularFile(configFile)) {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(configFile)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                logger.warn("Cannot read artifact globs from {}: {}", configFile, e.getMessage());
+            }
+            for (String name : properties.stringPropertyNames()) {
+                List<String> repositoryGlobs = new ArrayList<>();
+                for (String glob : properties.getProperty(name).split(",")) {
+                    if (!glob.isBlank()) {
+                        repositoryGlobs.add(glob.trim());
+                    }
+                }
+                globs.put(name.toLowerCase(Locale.ROOT), repositoryGlobs);
+            }
+        }
+        return new ArtifactLocator(globs);
+    }
+
+    public List<String> globsFor(String repositoryName) {
+        List<String> globs = globsByRepository.get(repositoryName.toLowerCase(Locale.ROOT));
+        if (globs != null && !globs.isEmpty()) {
+            return globs;
+        }
+        return repositoryName.equalsIgnoreCase("opt-soa") ? SOA_GLOBS : DEFAULT_GLOBS;
+    }
+
+    /**
+     * Find the newest artifact of a repository
+     *
+     * @param repositoryName Repository name
+     * @param repoPath Repository directory
+     * @param since Only files modified at or after this time (epoch milliseconds) count; 0 for any
+     * @param log Receives build log lines, including the reason if nothing was found
+     * @return The artifact, or null if there is none
+     */
+    public Path locate(String repositoryName, Path repoPath, long since, Consumer<String> log) {
+        List<String> globs = globsFor(repositoryName);
+        log.accept("Looking for " + String.join(", ", globs) + " in: " + repoPath + "\n");
+
+        // Globs sharing a directory are matched in the same listing
+        Map<Path, List<PathMatcher>> matchersByDirectory = new HashMap<>();
+        for (String glob : globs) {
+            String normalized = glob.replace('\\', '/');
+            int slash = normalized.lastIndexOf('/');
+            Path directory = slash < 0 ? repoPath : repoPath.resolve(normalized.substring(0, slash));
+            matchersByDirectory.computeIfAbsent(directory, d -> new ArrayList<>())
+                .add(FileSystems.getDefault().getPathMatcher("glob:" + normalized.substring(slash + 1)));
+        }
+
+        long threshold = since > 0 ? since - MTIME_TOLERANCE_MILLIS : Long.MIN_VALUE;
+        Path newest = null;
+        long newestModified = Long.MIN_VALUE;
+        int stale = 0;
+        for (Map.Entry<Path, List<PathMatcher>> entry : matchersByDirectory.entrySet()) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(entry.getKey())) {
+                for (Path file : stream) {
+                    Path fileName = file.getFileName();
+                    if (entry.getValue().stream().noneMatch(matcher -> matcher.matches(fileName))) {
+                        continue;
+                    }
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (!attributes.isRegularFile()) {
+                        continue;
+                    }
+                    long modified = attributes.lastModifiedTime().toMillis();
+                    if (modified < threshold) {
+                        stale++;
+                    } else if (modified > newestModified) {
+                        newest = file;
+                        newestModified = modified;
+                    }
+                }
+            } catch (NoSuchFileException | NotDirectoryException e) {
+                // Output directory this build does not use
+            } catch (IOException e) {
+                log.accept("ERROR: Cannot read build output directory " + entry.getKey() + " - " + e.getMessage() + "\n");
+            }
+        }
+
+        if (stale > 0) {
+            log.accept("Ignoring " + stale + " WAR file(s) from earlier builds\n");
+        }
+        if (newest == null) {
+            log.accept(stale > 0
+                ? "ERROR: No WAR file was produced by this build\n"
+                : "ERROR: No WAR files found matching " + String.join(", ", globs) + "\n");
+            return null;
+        }
+        log.accept("Found WAR file: " + repoPath.relativize(newest) + "\n");
+        return newest;
+    }
+}
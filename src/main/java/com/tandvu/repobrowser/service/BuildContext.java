@@ -0,0 +1,183 @@
+package com.tandvu.repobrowser.service;
+
+import com.tandvu.repobrowser.model.BuildRecord;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * State of one repository build, passed from stage to stage. Processes started through
+ * {@link #run(Duration, String...)} are attributed to the running stage.
+ */
+public final class BuildContext {
+
+    private final String repositoryName;
+    private final Path repoPath;
+    private final String deploymentPath;
+    private final Consumer<String> log;
+    private final ProcessRunner processRunner;
+
+    private String commit = "";
+    private long outputSince;
+    private List<Path> artifacts = List.of();
+    private final List<String> deployedArtifacts = new ArrayList<>();
+
+    // Process usage of the running stage
+    private int exitCode;
+    private long cpuMillis;
+    private long peakRssBytes;
+    private String stageDetail;
+    private long stageSavedMillis;
+
+    BuildContext(String repositoryName, Path repoPath, String deploymentPath, Consumer<String> log, ProcessRunner processRunner) {
+        this.repositoryName = repositoryName;
+        this.repoPath = repoPath;
+        this.deploymentPath = deploymentPath;
+        this.log = log;
+        this.processRunner = processRunner;
+        this.outputSince = System.currentTimeMillis();
+    }
+
+    public String getRepositoryName() {
+        return repositoryName;
+    }
+
+    public boolean isSoa() {
+        return repositoryName.equalsIgnoreCase("opt-soa");
+    }
+
+    public Path getRepoPath() {
+        return repoPath;
+    }
+
+    public String getDeploymentPath() {
+        return deploymentPath;
+    }
+
+    public Consumer<String> getLog() {
+        return log;
+    }
+
+    public void log(String text) {
+        log.accept(text);
+    }
+
+    /**
+     * Log an error line; the stage then returns false
+     */
+    public void fail(String message) {
+        log.accept("ERROR: " + message + "\n");
+    }
+
+    /**
+     * Run a process in the repository directory, log its resource usage and attribute it to the running stage
+     */
+    public ProcessRunner.Result run(Duration timeout, String... command) throws IOException, InterruptedException {
+        ProcessRunner.Result result = processRunner.run(repoPath, timeout, log, command);
+        exitCode = result.exitCode();
+        if (result.cpuMillis() >= 0) {
+            cpuMillis = Math.max(cpuMillis, 0) + result.cpuMillis();
+        }
+        peakRssBytes = Math.max(peakRssBytes, result.peakRssBytes());
+        log.accept("--- " + String.join(" ", command) + ": " + result.describe() + " ---\n");
+        return result;
+    }
+
+    /**
+     * Run a short process and return its output instead of logging it
+     *
+     * @return The trimmed output, or null if the process failed
+     */
+    public String capture(Duration timeout, String... command) throws IOException, InterruptedException {
+        StringBuilder output = new StringBuilder();
+        ProcessRunner.Result result = processRunner.run(repoPath, timeout, output::append, command);
+        return result.succeeded() ? output.toString().trim() : null;
+    }
+
+    /**
+     * @return true if the batch was cancelled; no further process will start and the build must not go on
+     */
+    public boolean isCancelled() {
+        return processRunner.isCancelled();
+    }
+
+    public String getCommit() {
+        return commit;
+    }
+
+    public void setCommit(String commit) {
+        this.commit = commit != null ? commit : "";
+    }
+
+    /**
+     * @return Time (epoch milliseconds) from which build output counts as produced by this build;
+     *         the start of the build unless a stage found the previous output current
+     */
+    public long getOutputSince() {
+        return outputSince;
+    }
+
+    /**
+     * Accept build output of earlier builds, for a stage that skipped the build because nothing changed
+     */
+    public void acceptPreviousOutput() {
+        this.outputSince = 0;
+    }
+
+    /**
+     * @return WAR files found by the locate stage
+     */
+    public List<Path> getArtifacts() {
+        return artifacts;
+    }
+
+    public void setArtifacts(List<Path> artifacts) {
+        this.artifacts = List.copyOf(artifacts);
+    }
+
+    public List<String> getDeployedArtifacts() {
+        return deployedArtifacts;
+    }
+
+    /**
+     * Describe how the running stage ran, e.g. which build mode was chosen; stored in the build record
+     */
+    public void setStageDetail(String detail) {
+        this.stageDetail = detail != null ? detail : "";
+    }
+
+    /**
+     * Record the estimated time the running stage saved compared to a full run
+     */
+    public void setStageSavedMillis(long savedMillis) {
+        this.stageSavedMillis = Math.max(0, savedMillis);
+    }
+
+    void beginStage() {
+        exitCode = 0;
+        cpuMillis = -1;
+        peakRssBytes = -1;
+        stageDetail = "";
+        stageSavedMillis = 0;
+    }
+
+    BuildRecord.Stage endStage(String name, long durationMillis, boolean success) {
+        int code = success ? exitCode : (exitCode != 0 ? exitCode : 1);
+        String detail = stageDetail;
+        if (!success && isCancelled()) {
+            detail = detail.isEmpty() ? "cancelled" : detail + ", cancelled";
+        }
+        return new BuildRecord.Stage(name, durationMillis, code, cpuMillis, peakRssBytes, detail, stageSavedMillis);
+    }
+
+    /**
+     * Record for a stage that was not started because the batch was cancelled
+     */
+    BuildRecord.Stage cancelledStage(String name) {
+        return new BuildRecord.Stage(name, 0, -1, -1, -1, "cancelled", 0);
+    }
+}
@@ -0,0 +1,309 @@
+package com.tandvu.repobrowser.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tandvu.repobrowser.model.BuildRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only history of every build, stored in ~/.repo-browser as build-history.jsonl
+ * (one {@link BuildRecord} per line, never rewritten) plus build-history-index.json with
+ * per-repository aggregates and the offsets of recent records. Queries only read the index,
+ * so they stay fast however long the log grows; the log is replayed only from the last
+ * indexed offset, or from the start if the index is missing or does not match the log.
+ * Thread-safe; the index is loaded on first use.
+ */
+public class BuildHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildHistory.class);
+
+    private static final Path DEFAULT_DIRECTORY = Path.of(System.getProperty("user.home"), ".repo-browser");
+    private static final int RECENT_DURATIONS = 10;
+    private static final int RECENT_OFFSETS = 50;
+
+    /**
+     * Aggregates of one repository for the history views
+     *
+     * @param repository Repository name
+     * @param builds Number of recorded builds
+     * @param failures Number of failed builds
+     * @param estimatedMillis Median duration of the recent successful builds, or -1 if there are none
+     * @param lastBuild Start of the latest build, epoch milliseconds
+     * @param lastSucceeded true if the latest build succeeded
+     */
+    public record RepositoryStats(String repository, long builds, long failures, long estimatedMillis,
+                                  long lastBuild, boolean lastSucceeded) {
+
+        public double failureRate() {
+            return builds == 0 ? 0 : (double) failures / builds;
+        }
+    }
+
+    /**
+     * Persisted aggregates of one repository
+     */
+    static final class Stats {
+        public long builds;
+        public long failures;
+        public long lastBuild;
+        public boolean lastSucceeded;
+        public List<Long> recentDurations = new ArrayList<>();
+        public List<Long> recentOffsets = new ArrayList<>();
+    }
+
+    /**
+     * Persisted index: aggregates covering the log up to logBytes
+     */
+    static final class Index {
+        public long logBytes;
+        public Map<String, Stats> repositories = new HashMap<>();
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Path logFile;
+    private final Path indexFile;
+    private Index index;
+
+    public BuildHistory() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    public BuildHistory(Path directory) {
+        this.logFile = directory.resolve("build-history.jsonl");
+        this.indexFile = directory.resolve("build-history-index.json");
+    }
+
+    /**
+     * Append a build to the log and update the index
+     */
+    public synchronized void append(BuildRecord record) {
+        Index current = index();
+        try {
+            Files.createDirectories(logFile.getParent());
+            String json = objectMapper.writeValueAsString(record) + "\n";
+            long offset = Files.exists(logFile) ? Files.size(logFile) : 0;
+            long recordOffset = offset;
+            if (offset > 0 && !endsWithNewline()) {
+                // Terminate a line left behind by an interrupted write so it cannot swallow this
+                // record, which then starts after that newline
+                json = "\n" + json;
+                recordOffset++;
+            }
+            byte[] line = json.getBytes(StandardCharsets.UTF_8);
+            Files.write(logFile, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            if (offset == current.logBytes) {
+                add(current, record, recordOffset);
+                current.logBytes = offset + line.length;
+            } else {
+                // Another process appended in between; pick its records up as well
+                replay(current);
+            }
+            saveIndex(current);
+        } catch (IOException e) {
+            logger.warn("Failed to record build of {} in {}: {}", record.repository(), logFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Predicted duration of building a repository
+     *
+     * @return Median of the recent successful builds, or -1 if there is none
+     */
+    public synchronized long estimateMillis(String repository) {
+        Stats stats = index().repositories.get(repository);
+        return stats != null ? median(stats.recentDurations) : -1;
+    }
+
+    /**
+     * Repositories with the longest estimated build time first
+     */
+    public synchronized List<RepositoryStats> slowest(int limit) {
+        return stats().stream()
+            .filter(stats -> stats.estimatedMillis() >= 0)
+            .sorted(Comparator.comparingLong(RepositoryStats::estimatedMillis).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Repositories with the most failed builds first
+     */
+    public synchronized List<RepositoryStats> mostFailing(int limit) {
+        return stats().stream()
+            .filter(stats -> stats.failures() > 0)
+            .sorted(Comparator.comparingLong(RepositoryStats::failures).reversed()
+                .thenComparing(Comparator.comparingDouble(RepositoryStats::failureRate).reversed()))
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * Latest builds of a repository, newest first. Reads only the indexed records, not the whole log.
+     */
+    public synchronized List<BuildRecord> recent(String repository, int limit) {
+        Stats stats = index().repositories.get(repository);
+        if (stats == null) {
+            return List.of();
+        }
+        List<BuildRecord> records = new ArrayList<>();
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "r")) {
+            for (int i = stats.recentOffsets.size() - 1; i >= 0 && records.size() < limit; i--) {
+                long offset = stats.recentOffsets.get(i);
+                file.seek(offset);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    Channels.newInputStream(file.getChannel()), StandardCharsets.UTF_8));
+                String line = reader.readLine();
+                try {
+                    records.add(objectMapper.readValue(line != null ? line : "", BuildRecord.class));
+                } catch (IOException e) {
+                    // One bad record must not hide the older ones
+                    logger.warn("Skipping unreadable build history record at offset {}: {}", offset, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read build history {}: {}", logFile, e.getMessage());
+        }
+        return records;
+    }
+
+    private List<RepositoryStats> stats() {
+        List<RepositoryStats> result = new ArrayList<>();
+        index().repositories.forEach((repository, stats) -> result.add(new RepositoryStats(repository, stats.builds,
+            stats.failures, median(stats.recentDurations), stats.lastBuild, stats.lastSucceeded)));
+        return result;
+    }
+
+    private Index index() {
+        if (index == null) {
+            index = loadIndex();
+        }
+        return index;
+    }
+
+    private Index loadIndex() {
+        Index loaded = null;
+        if (Files.isRegularFile(indexFile)) {
+            try {
+                loaded = objectMapper.readValue(indexFile.toFile(), Index.class);
+            } catch (Exception e) {
+                logger.warn("Rebuilding unreadable build history index {}: {}", indexFile, e.getMessage());
+            }
+        }
+        try {
+            long logBytes = Files.exists(logFile) ? Files.size(logFile) : 0;
+            if (loaded == null || loaded.logBytes > logBytes) {
+                loaded = new Index();
+            }
+            if (loaded.logBytes < logBytes) {
+                replay(loaded);
+                saveIndex(loaded);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read build history {}: {}", logFile, e.getMessage());
+        }
+        return loaded != null ? loaded : new Index();
+    }
+
+    /**
+     * Add the records after index.logBytes to the index. A trailing line without newline
+     * (interrupted write) is left for the next replay.
+     */
+    private void replay(Index target) throws IOException {
+        try (InputStream in = Files.newInputStream(logFile)) {
+            in.skipNBytes(target.logBytes);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            long offset = target.logBytes;
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c != '\n') {
+                    line.append((char) c);
+                    continue;
+                }
+                String text = line.toString();
+                long length = text.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (!text.isBlank()) {
+                    try {
+                        add(target, objectMapper.readValue(text, BuildRecord.class), offset);
+                    } catch (IOException e) {
+                        logger.warn("Skipping unreadable build history record at offset {}: {}", offset, e.getMessage());
+                    }
+                }
+                offset += length;
+                line.setLength(0);
+            }
+            target.logBytes = offset;
+        }
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(logFile.toFile(), "r")) {
+            file.seek(file.length() - 1);
+            return file.read() == '\n';
+        }
+    }
+
+    private static void add(Index target, BuildRecord record, long offset) {
+        Stats stats = target.repositories.computeIfAbsent(record.repository(), name -> new Stats());
+        stats.builds++;
+        if (!record.success()) {
+            stats.failures++;
+        } else {
+            addBounded(stats.recentDurations, record.durationMillis(), RECENT_DURATIONS);
+        }
+        if (record.startTime() >= stats.lastBuild) {
+            stats.lastBuild = record.startTime();
+            stats.lastSucceeded = record.success();
+        }
+        addBounded(stats.recentOffsets, offset, RECENT_OFFSETS);
+    }
+
+    private static void addBounded(List<Long> values, long value, int limit) {
+        values.add(value);
+        if (values.size() > limit) {
+            values.remove(0);
+        }
+    }
+
+    private static long median(List<Long> values) {
+        if (values.isEmpty()) {
+            return -1;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Write the index to a temporary file first so a crash never leaves a truncated index behind
+     */
+    private void saveIndex(Index current) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), current);
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to save build history index {}: {}", indexFile, e.getMessage());
+        }
+    }
+}
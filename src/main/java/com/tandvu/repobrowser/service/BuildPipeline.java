@@ -0,0 +1,85 @@
+package com.tandvu.repobrowser.service;
+
+import com.tandvu.repobrowser.model.BuildRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the stages of a repository build in order, timing each one. The first stage that
+ * fails or throws ends the build, and so does a cancel, which is checked before every stage;
+ * the result is a {@link BuildRecord} with one entry per stage that ran or was cancelled.
+ */
+public class BuildPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildPipeline.class);
+
+    private final List<BuildStage> stages;
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    public BuildPipeline(List<BuildStage> stages) {
+        this.stages = List.copyOf(stages);
+    }
+
+    public List<BuildStage> getStages() {
+        return stages;
+    }
+
+    /**
+     * Build one repository
+     *
+     * @param context Build to run
+     * @return The build record
+     */
+    public BuildRecord run(BuildContext context) {
+        long startTime = System.currentTimeMillis();
+        List<BuildRecord.Stage> records = new ArrayList<>();
+        boolean success = true;
+        MetricsRegistry.Sample total = metrics.timer("build.total").start();
+        try {
+            if (!Files.exists(context.getRepoPath())) {
+                context.fail("Repository path does not exist: " + context.getRepoPath());
+                success = false;
+            }
+            for (BuildStage stage : stages) {
+                if (!success) {
+                    break;
+                }
+                if (!stage.appliesTo(context)) {
+                    continue;
+                }
+                if (context.isCancelled()) {
+                    context.log("=== Build cancelled before " + stage.name() + " ===\n");
+                    records.add(context.cancelledStage(stage.name()));
+                    success = false;
+                    break;
+                }
+                context.beginStage();
+                long stageStart = System.nanoTime();
+                MetricsRegistry.Sample sample = metrics.timer("build." + stage.name()).start();
+                try {
+                    success = stage.run(context);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    context.fail("Build interrupted");
+                    success = false;
+                } catch (Exception e) {
+                    context.fail(stage.name() + " failed - " + e.getMessage());
+                    logger.error("Stage {} of {} failed", stage.name(), context.getRepositoryName(), e);
+                    success = false;
+                } finally {
+                    sample.stop();
+                }
+                records.add(context.endStage(stage.name(), (System.nanoTime() - stageStart) / 1_000_000, success));
+            }
+        } finally {
+            total.stop();
+        }
+        metrics.counter(success ? "build.succeeded" : context.isCancelled() ? "build.cancelled" : "build.failed").increment();
+        return new BuildRecord(context.getRepositoryName(), context.getCommit(), startTime, System.currentTimeMillis(),
+            success, records, context.getDeployedArtifacts());
+    }
+}
@@ -0,0 +1,98 @@
+package com.tandvu.repobrowser.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orders a batch of builds for a number of parallel worker slots. Builds are dispatched longest
+ * first (LPT scheduling) by their estimated duration: when each free slot takes the next job from
+ * this order, the long builds start early and the short ones fill the gaps at the end, which
+ * keeps the time until the last build finishes close to the optimum.
+ */
+public final class BuildScheduler {
+
+    private BuildScheduler() {
+    }
+
+    /**
+     * Dispatch order and predicted duration of a batch
+     *
+     * @param order Repositories in dispatch order, longest estimate first
+     * @param estimates Estimated duration per repository, in dispatch order
+     * @param predictedMillis Predicted time until the last build finishes
+     * @param unknownRepositories Repositories without an estimate; they are assumed to take the
+     *                            mean of the known estimates
+     * @param slots Number of builds running at the same time
+     */
+    public record Plan(List<String> order, List<Long> estimates, long predictedMillis, int unknownRepositories, int slots) {
+    }
+
+    /**
+     * Plan a batch
+     *
+     * @param repositories Repositories to build, in table order (kept for equal estimates)
+     * @param slots Number of parallel builds
+     * @param estimate Estimated duration of a repository, or a negative value if unknown
+     * @return The plan
+     */
+    public static Plan plan(Collection<String> repositories, int slots, ToLongFunction<String> estimate) {
+        int workerSlots = Math.max(1, slots);
+        List<String> names = new ArrayList<>(repositories);
+        long[] estimates = new long[names.size()];
+        long knownTotal = 0;
+        int known = 0;
+        for (int i = 0; i < names.size(); i++) {
+            estimates[i] = estimate.applyAsLong(names.get(i));
+            if (estimates[i] >= 0) {
+                knownTotal += estimates[i];
+                known++;
+            }
+        }
+        long fallback = known > 0 ? knownTotal / known : 0;
+        for (int i = 0; i < estimates.length; i++) {
+            if (estimates[i] < 0) {
+                estimates[i] = fallback;
+            }
+        }
+
+        // Stable sort, so repositories with equal estimates keep their table order
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < names.size(); i++) {
+            indexes.add(i);
+        }
+        indexes.sort(Comparator.comparingLong((Integer i) -> estimates[i]).reversed());
+
+        List<String> order = new ArrayList<>(names.size());
+        List<Long> orderedEstimates = new ArrayList<>(names.size());
+        for (int i : indexes) {
+            order.add(names.get(i));
+            orderedEstimates.add(estimates[i]);
+        }
+        return new Plan(order, orderedEstimates, makespan(orderedEstimates, workerSlots), names.size() - known, workerSlots);
+    }
+
+    /**
+     * Time until the last job finishes when each job in order goes to the slot that frees up first
+     *
+     * @param durations Job durations in dispatch order
+     * @param slots Number of slots
+     * @return The predicted makespan
+     */
+    public static long makespan(List<Long> durations, int slots) {
+        PriorityQueue<Long> slotFreeAt = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, slots); i++) {
+            slotFreeAt.add(0L);
+        }
+        long end = 0;
+        for (long duration : durations) {
+            long finish = slotFreeAt.poll() + duration;
+            slotFreeAt.add(finish);
+            end = Math.max(end, finish);
+        }
+        return end;
+    }
+}
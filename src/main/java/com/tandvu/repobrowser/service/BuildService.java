@@ -0,0 +1,191 @@
+package com.tandvu.repobrowser.service;
+
+import com.tandvu.repobrowser.model.BuildRecord;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Builds repositories from master and deploys their WAR files through the {@link BuildPipeline}:
+ * git sync, npm run build (or mvn clean install for opt-soa), locate the WAR files, deploy.
+ * Single builds and batches take the same path; a batch runs on whatever executor the caller
+ * passes, e.g. a pool with one thread per parallel build slot. Has no JavaFX dependency.
+ */
+public class BuildService {
+
+    // Upper bounds per step; a hung npm build or a git pull waiting for credentials is killed
+    static final Duration GIT_TIMEOUT = Duration.ofMinutes(Integer.getInteger("repobrowser.gitTimeoutMinutes", 10));
+    static final Duration BUILD_TIMEOUT = Duration.ofMinutes(Integer.getInteger("repobrowser.buildTimeoutMinutes", 60));
+
+    /**
+     * One repository of a batch
+     *
+     * @param repositoryName Repository name
+     * @param repoPath Repository directory
+     * @param log Receives the build output of this repository
+     */
+    public record BuildJob(String repositoryName, Path repoPath, Consumer<String> log) {
+    }
+
+    /**
+     * Progress callbacks of a batch, called on the thread that runs the build
+     */
+    public interface BatchListener {
+
+        default void started(BuildJob job) {
+        }
+
+        default void finished(BuildJob job, BuildRecord record) {
+        }
+
+        /**
+         * The job was not started because the batch was cancelled
+         */
+        default void skipped(BuildJob job) {
+        }
+    }
+
+    private final ProcessRunner processRunner = new ProcessRunner();
+    private final BuildPipeline pipeline;
+    private volatile boolean cancelled;
+
+    public BuildService(DeploymentService deploymentService, BuildHistory buildHistory) {
+        this.pipeline = new BuildPipeline(standardStages(deploymentService, buildHistory));
+    }
+
+    public BuildService(BuildPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * The stages of a master build: git sync, npm install and build or mvn build, locate WAR files, deploy
+     *
+     * @param deploymentService Deploys the WAR files
+     * @param buildHistory Previous builds, used to build opt-soa incrementally
+     */
+    public static List<BuildStage> standardStages(DeploymentService deploymentService, BuildHistory buildHistory) {
+        return List.of(new GitSyncStage(), new NpmInstallStage(), new NpmBuildStage(), new MavenBuildStage(buildHistory),
+            new LocateArtifactStage(), new DeployStage(deploymentService));
+    }
+
+    /**
+     * Resolve the working directory of a repository build
+     *
+     * @param repositoryName Repository name
+     * @param basePath Repository path (parent of all repositories)
+     * @param soaPath SOA path (parent of opt-soa)
+     * @return The repository directory
+     */
+    public static Path resolveRepositoryPath(String repositoryName, String basePath, String soaPath) {
+        if (repositoryName.equalsIgnoreCase("opt-soa")) {
+            return Paths.get(soaPath.trim(), "opt-soa");
+        }
+        return Paths.get(basePath.trim(), repositoryName);
+    }
+
+    /**
+     * Build a single repository and deploy it, on the calling thread
+     *
+     * @param repositoryName Repository name
+     * @param repoPath Repository directory
+     * @param deploymentPath Deployment directory for the built WAR files
+     * @param log Receives build log lines
+     * @return The build record; {@link BuildRecord#success()} is true if the build and deployment succeeded
+     */
+    public BuildRecord build(String repositoryName, Path repoPath, String deploymentPath, Consumer<String> log) {
+        return pipeline.run(new BuildContext(repositoryName, repoPath, deploymentPath, log, processRunner));
+    }
+
+    /**
+     * Build repositories on an executor. Jobs are submitted in list order, so with a pool of N
+     * threads the first N run first and each free thread takes the next one.
+     *
+     * @param jobs Repositories to build, in dispatch order
+     * @param deploymentPath Deployment directory
+     * @param executor Runs the builds, e.g. Runnable::run for one after another on the calling thread
+     * @param listener Progress callbacks
+     * @return Records of the builds that ran, in job order
+     */
+    public List<BuildRecord> buildAll(List<BuildJob> jobs, String deploymentPath, Executor executor, BatchListener listener) {
+        cancelled = false;
+        processRunner.reset();
+        BuildRecord[] records = new BuildRecord[jobs.size()];
+        List<CompletableFuture<Void>> builds = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            int index = i;
+            BuildJob job = jobs.get(i);
+            builds.add(CompletableFuture.runAsync(() -> {
+                if (cancelled) {
+                    listener.skipped(job);
+                    return;
+                }
+                listener.started(job);
+                records[index] = build(job.repositoryName(), job.repoPath(), deploymentPath, job.log());
+                listener.finished(job, records[index]);
+            }, executor));
+        }
+        CompletableFuture.allOf(builds.toArray(CompletableFuture[]::new)).join();
+
+        List<BuildRecord> completed = new ArrayList<>();
+        for (BuildRecord record : records) {
+            if (record != null) {
+                completed.add(record);
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * Cancel the running batch: kill the running git, npm and mvn processes (their builds fail),
+     * stop the running builds before their next process or stage, and skip the builds that have not started
+     */
+    public void cancel() {
+        cancelled = true;
+        processRunner.cancelAll();
+    }
+
+    /**
+     * @return true if the last batch was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Prefix every line of a log chunk, so the output of parallel builds can be told apart
+     */
+    public static String prefixLines(String prefix, String text) {
+        StringBuilder prefixed = new StringBuilder(text.length() + prefix.length());
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            end = end < 0 ? text.length() : end + 1;
+            if (end - start > 1 || text.charAt(start) != '\n') {
+                prefixed.append(prefix);
+            }
+            prefixed.append(text, start, end);
+            start = end;
+        }
+        return prefixed.toString();
+    }
+
+    /**
+     * On Windows, npm and mvn are batch scripts and must be run through cmd
+     */
+    static String[] platformCommand(String... command) {
+        if (!System.getProperty("os.name").toLowerCase().contains("win")) {
+            return command;
+        }
+        String[] windowsCommand = new String[command.length + 2];
+        windowsCommand[0] = "cmd";
+        windowsCommand[1] = "/c";
+        System.arraycopy(command, 0, windowsCommand, 2, command.length);
+        return windowsCommand;
+    }
+}
@@ -0,0 +1,28 @@
+package com.tandvu.repobrowser.service;
+
+/**
+ * One step of the build pipeline, e.g. git sync, compile, locate artifact or deploy.
+ * Stages run in order on the build's thread; the first stage that fails ends the build.
+ */
+public interface BuildStage {
+
+    /**
+     * @return Stage name used in the build history, metrics and log, e.g. "git-sync"
+     */
+    String name();
+
+    /**
+     * @return true if the stage runs for this build; e.g. git sync is skipped for opt-soa
+     */
+    default boolean appliesTo(BuildContext context) {
+        return true;
+    }
+
+    /**
+     * Run the stage. Failures are reported through {@link BuildContext#fail(String)}; exceptions
+     * are logged by the pipeline and fail the build as well.
+     *
+     * @return true if the build can continue with the next stage
+     */
+    boolean run(BuildContext context) throws Exception;
+}
@@ -0,0 +1,30 @@
+package com.tandvu.repobrowser.service;
+
+import java.nio.file.Path;
+
+/**
+ * Copy the located WAR files into the deployment directory
+ */
+final class DeployStage implements BuildStage {
+
+    private final DeploymentService deploymentService;
+
+    DeployStage(DeploymentService deploymentService) {
+        this.deploymentService = deploymentService;
+    }
+
+    @Override
+    public String name() {
+        return "deploy";
+    }
+
+    @Override
+    public boolean run(BuildContext context) {
+        DeploymentService.DeployResult result = deploymentService.deploy(context.getRepositoryName(), context.getArtifacts(),
+            context.getDeploymentPath(), context.getLog());
+        for (Path deployed : result.deployed()) {
+            context.getDeployedArtifacts().add(deployed.getFileName().toString());
+        }
+        return result.success();
+    }
+}
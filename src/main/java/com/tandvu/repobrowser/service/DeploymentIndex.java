@@ -0,0 +1,170 @@
+package com.tandvu.repobrowser.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the WAR files in a deployment directory, mapping repository names to deployed versions.
+ * Expected filename pattern example: ampt-orgchart-3.4.0.war -> repo name: opt-orgchart, version: 3.4.0
+ */
+public final class DeploymentIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentIndex.class);
+
+    private static final Pattern SOA_PATTERN = Pattern.compile("^opt-soa-([0-9][a-z0-9.-]*)\\.war$");
+    private static final Pattern WEBMAP_PATTERN = Pattern.compile("^(webmap|webmap-data-service)-([0-9][a-z0-9.-]*)\\.war$");
+    private static final Pattern AMPT_PATTERN = Pattern.compile("^ampt-([a-z0-9-]+)-([0-9][a-z0-9.-]*)\\.war$");
+
+    /** Index of an empty or missing deployment directory */
+    public static final DeploymentIndex EMPTY = new DeploymentIndex(Map.of(), Map.of());
+
+    /**
+     * Deployed WAR for a repository
+     *
+     * @param version Deployed version
+     * @param modified Last modified date of the WAR file (M/d/yyyy h:mm a), or empty string
+     * @param warFileName WAR file name derived from the repository name and version
+     */
+    public record DeployedArtifact(String version, String modified, String warFileName) {
+    }
+
+    private final Map<String, String> deployedVersions;
+    private final Map<String, Long> warModified;
+
+    private DeploymentIndex(Map<String, String> deployedVersions, Map<String, Long> warModified) {
+        this.deployedVersions = deployedVersions;
+        this.warModified = warModified;
+    }
+
+    /**
+     * Scan a deployment directory for .war files
+     *
+     * @param deploymentPath The deployment directory
+     * @return The index, {@link #EMPTY} if the directory does not exist
+     */
+    public static DeploymentIndex scan(Path deploymentPath) {
+        MetricsRegistry.Sample sample = MetricsRegistry.global().timer("deployment.index").start();
+        try {
+            return scanDirectory(deploymentPath);
+        } finally {
+            sample.stop();
+        }
+    }
+
+    private static DeploymentIndex scanDirectory(Path deploymentPath) {
+        File depDir = deploymentPath.toFile();
+        if (!depDir.exists() || !depDir.isDirectory()) {
+            return EMPTY;
+        }
+        File[] warFiles = depDir.listFiles((dir, name) -> name.toLowerCase().endsWith(".war"));
+        if (warFiles == null) {
+            return EMPTY;
+        }
+        logger.info("Found {} WAR files in deployment directory", warFiles.length);
+        Map<String, Long> modified = new HashMap<>();
+        for (File war : warFiles) {
+            modified.put(war.getName(), war.lastModified());
+        }
+        return fromWarFiles(modified);
+    }
+
+    /**
+     * Build an index from WAR file names and their last modified times
+     *
+     * @param warFiles WAR file name to last modified time (epoch millis)
+     * @return The index
+     */
+    public static DeploymentIndex fromWarFiles(Map<String, Long> warFiles) {
+        // Build a map from repo key (e.g., orgchart) to version from WAR files
+        Map<String, String> deployedVersions = new HashMap<>();
+        // Map from war file name (lowercase) to last modified time
+        Map<String, Long> warModified = new HashMap<>();
+        for (Map.Entry<String, Long> war : warFiles.entrySet()) {
+            String name = war.getKey().toLowerCase();
+            logger.debug("Processing WAR file: {}", name);
+            warModified.put(name, war.getValue());
+
+            // Handle opt-soa pattern: opt-soa-<version>.war
+            Matcher soaMatcher = SOA_PATTERN.matcher(name);
+            if (soaMatcher.find()) {
+                deployedVersions.put("soa", soaMatcher.group(1));
+                continue;
+            }
+
+            // Handle webmap and webmap-data-service
+            Matcher webmapMatcher = WEBMAP_PATTERN.matcher(name);
+            if (webmapMatcher.find()) {
+                deployedVersions.put(webmapMatcher.group(1), webmapMatcher.group(2));
+                continue;
+            }
+
+            // Handle regular ampt pattern: ampt-<suffix>-<version>.war
+            Matcher amptMatcher = AMPT_PATTERN.matcher(name);
+            if (amptMatcher.find()) {
+                deployedVersions.put(amptMatcher.group(1), amptMatcher.group(2));
+            }
+        }
+        return new DeploymentIndex(Collections.unmodifiableMap(deployedVersions), Collections.unmodifiableMap(warModified));
+    }
+
+    /**
+     * @return Number of repository keys with a deployed version
+     */
+    public int size() {
+        return deployedVersions.size();
+    }
+
+    /**
+     * Find the deployed WAR for a repository
+     *
+     * @param repositoryName Repository name (e.g. opt-orgchart, webmap, opt-soa)
+     * @return The deployed artifact, or null if none is deployed
+     */
+    public DeployedArtifact lookup(String repositoryName) {
+        String repoName = repositoryName.toLowerCase();
+        String warFileName = null;
+        String deployedVersion = null;
+        String version;
+        // map opt-<suffix> -> <suffix>
+        if (repoName.startsWith("opt-")) {
+            String suffix = repoName.substring(4);
+            version = deployedVersions.get(suffix);
+            if (version != null) {
+                deployedVersion = version;
+                warFileName = "ampt-" + suffix + "-" + version + ".war";
+            }
+        }
+        // Handle webmap and webmap-data-service directly
+        if (repoName.equals("webmap") || repoName.equals("webmap-data-service")) {
+            version = deployedVersions.get(repoName);
+            if (version != null) {
+                deployedVersion = version;
+                warFileName = repoName + "-" + version + ".war";
+            }
+        }
+        // Handle opt-soa
+        if (repoName.equals("opt-soa")) {
+            version = deployedVersions.get("soa");
+            if (version != null) {
+                deployedVersion = version;
+                warFileName = "opt-soa-" + version + ".war";
+            }
+        }
+        if (deployedVersion == null) {
+            return null;
+        }
+        Long lastModified = warModified.get(warFileName.toLowerCase());
+        String modified = lastModified != null ? new SimpleDateFormat("M/d/yyyy h:mm a").format(new Date(lastModified)) : "";
+        return new DeployedArtifact(deployedVersion, modified, warFileName);
+    }
+}
@@ -0,0 +1,240 @@
+package com.tandvu.repobrowser.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Copies built WAR files into the deployment directory, replacing older versions of the same repository
+ */
+public class DeploymentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeploymentService.class);
+
+    private final MetricsRegistry metrics = MetricsRegistry.global();
+
+    private static final Pattern WAR_VERSION_PATTERN = Pattern.compile(".*-(\\d+(?:\\.\\d+)*(?:-[a-zA-Z0-9]+)?)$");
+
+    /**
+     * Outcome of a deployment
+     *
+     * @param success true if every WAR file was deployed
+     * @param status Short status for display (e.g. "Deployment Failed - No WAR files")
+     * @param deployed Paths of the deployed WAR files in the deployment directory
+     */
+    public record DeployResult(boolean success, String status, List<Path> deployed) {
+
+        static DeployResult failed(String status) {
+            return new DeployResult(false, status, List.of());
+        }
+    }
+
+    /**
+     * Locate and deploy the newest WAR file built for a repository
+     *
+     * @param repositoryName Repository name
+     * @param repoPath Repository directory containing the build output
+     * @param deploymentPath Deployment directory
+     * @param log Receives build log lines
+     * @return The deployment result
+     */
+    public DeployResult deploy(String repositoryName, Path repoPath, String deploymentPath, Consumer<String> log) {
+        Path warFile = ArtifactLocator.load().locate(repositoryName, repoPath, 0, log);
+        if (warFile == null) {
+            return DeployResult.failed("Deployment Failed - No WAR files");
+        }
+        return deploy(repositoryName, List.of(warFile), deploymentPath, log);
+    }
+
+    /**
+     * Deploy WAR files, replacing older WAR files of the same repository
+     *
+     * @param repositoryName Repository name
+     * @param warFiles WAR files to deploy
+     * @param deploymentPath Deployment directory
+     * @param log Receives build log lines
+     * @return The deployment result
+     */
+    public DeployResult deploy(String repositoryName, List<Path> warFiles, String deploymentPath, Consumer<String> log) {
+        DeployResult result;
+        MetricsRegistry.Sample sample = metrics.timer("deploy.total").start();
+        try {
+            result = deployWarFiles(repositoryName, warFiles, deploymentPath, log);
+        } finally {
+            sample.stop();
+        }
+        metrics.counter(result.success() ? "deploy.succeeded" : "deploy.failed").increment();
+        return result;
+    }
+
+    private DeployResult deployWarFiles(String repositoryName, List<Path> warFiles, String deploymentPath, Consumer<String> log) {
+        try {
+            log.accept("\n=== Starting Deployment ===\n");
+
+            if (deploymentPath == null || deploymentPath.trim().isEmpty()) {
+                log.accept("ERROR: No deployment path specified\n");
+                return DeployResult.failed("Deployment Failed - No path");
+            }
+
+            Path deploymentDir = Path.of(deploymentPath.trim());
+            if (!Files.exists(deploymentDir) || !Files.isDirectory(deploymentDir)) {
+                log.accept("ERROR: Deployment directory does not exist: " + deploymentPath + "\n");
+                return DeployResult.failed("Deployment Failed - Invalid path");
+            }
+
+            // Deploy each WAR file
+            List<Path> deployed = new ArrayList<>();
+            for (Path warFile : warFiles) {
+                String warFileName = warFile.getFileName().toString();
+
+                // Extract version from new WAR file name
+                String newVersion = extractVersionFromWarFile(warFileName);
+                String displayVersion = newVersion.isEmpty() ? "unknown" : newVersion;
+
+                log.accept("Preparing to deploy: " + warFileName + " (version: " + displayVersion + ")\n");
+
+                // Find and delete existing WAR files for this repository
+                deleteExistingWarFiles(deploymentDir, repositoryName, warFileName, log);
+
+                // Deploy the new WAR file
+                Path deploymentTarget = deploymentDir.resolve(warFileName);
+                log.accept("Deploying new WAR: " + warFileName + "\n");
+
+                ProfilingEvents.WarCopy copyEvent = new ProfilingEvents.WarCopy();
+                copyEvent.begin();
+                MetricsRegistry.Sample sample = metrics.timer("deploy.warCopy").start();
+                try {
+                    Files.copy(warFile, deploymentTarget, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    sample.stop();
+                }
+                copyEvent.end();
+                long warBytes = Files.size(deploymentTarget);
+                if (copyEvent.shouldCommit()) {
+                    copyEvent.repository = repositoryName;
+                    copyEvent.warFile = warFileName;
+                    copyEvent.size = warBytes;
+                    copyEvent.commit();
+                }
+                metrics.histogram("deploy.warBytes").record(warBytes);
+                deployed.add(deploymentTarget);
+
+                log.accept("Successfully deployed: " + warFileName + " (version: " + displayVersion + ") -> " + deploymentTarget + "\n");
+            }
+
+            log.accept("\n=== Deployment Completed Successfully ===\n");
+            log.accept("Deployed " + warFiles.size() + " WAR file(s) to: " + deploymentPath + "\n");
+            return new DeployResult(true, "Build & Deployment Successful", deployed);
+
+        } catch (Exception e) {
+            log.accept("ERROR: Deployment failed - " + e.getMessage() + "\n");
+            logger.error("Deployment failed", e);
+            return DeployResult.failed("Deployment Failed");
+        }
+    }
+
+    /**
+     * Delete existing WAR files for the repository in the deployment directory
+     */
+    private void deleteExistingWarFiles(Path deploymentDir, String repoName, String newWarFileName, Consumer<String> log) {
+        try {
+            // Create patterns to match WAR files for this repository
+            List<String> patterns = createWarFilePatterns(repoName);
+
+            log.accept("Checking for existing WAR files for repository: " + repoName + "\n");
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(deploymentDir, "*.war")) {
+                for (Path existingWar : stream) {
+                    String existingWarName = existingWar.getFileName().toString();
+
+                    // Don't delete the same file we're about to deploy
+                    if (existingWarName.equals(newWarFileName)) {
+                        continue;
+                    }
+
+                    // Check if this WAR file belongs to the same repository
+                    if (isWarFileForRepository(existingWarName, patterns)) {
+                        String oldVersion = extractVersionFromWarFile(existingWarName);
+                        String displayOldVersion = oldVersion.isEmpty() ? "unknown" : oldVersion;
+
+                        log.accept("Found existing WAR file: " + existingWarName + " (version: " + displayOldVersion + ")\n");
+                        log.accept("Deleting old WAR file: " + existingWarName + "\n");
+
+                        Files.delete(existingWar);
+
+                        log.accept("Successfully deleted: " + existingWarName + "\n");
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.accept("Warning: Failed to clean up existing WAR files: " + e.getMessage() + "\n");
+            logger.warn("Failed to clean up existing WAR files for repository: " + repoName, e);
+        }
+    }
+
+    /**
+     * Create patterns to match WAR files for a repository
+     */
+    static List<String> createWarFilePatterns(String repoName) {
+        List<String> patterns = new ArrayList<>();
+
+        // Standard AMPT pattern: ampt-<repo>-<version>.war
+        if (repoName.startsWith("opt-")) {
+            String amptName = repoName.substring(4); // Remove "opt-" prefix
+            patterns.add("ampt-" + amptName + "-");
+        }
+
+        // SOA pattern: opt-soa-<version>.war
+        if ("opt-soa".equals(repoName)) {
+            patterns.add("opt-soa-");
+        }
+
+        // Direct pattern: <repo>-<version>.war
+        patterns.add(repoName + "-");
+
+        return patterns;
+    }
+
+    /**
+     * Check if a WAR file belongs to the given repository
+     */
+    static boolean isWarFileForRepository(String warFileName, List<String> patterns) {
+        for (String pattern : patterns) {
+            if (warFileName.startsWith(pattern) && warFileName.endsWith(".war")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extract version from WAR file name
+     *
+     * @param warFileName WAR file name, e.g. ampt-orgchart-3.4.0.war
+     * @return The version, or empty string if none was found
+     */
+    public static String extractVersionFromWarFile(String warFileName) {
+        // Remove .war extension
+        String baseName = warFileName.replace(".war", "");
+
+        // Try to extract version using regex patterns
+        // Pattern 1: ampt-<name>-<version> or opt-soa-<version> or <name>-<version>
+        Matcher matcher = WAR_VERSION_PATTERN.matcher(baseName);
+
+        if (matcher.find()) {
+            return matcher.group(1);
+        }
+
+        return "";
+    }
+}
@@ -0,0 +1,102 @@
+package com.tandvu.repobrowser.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed form of the filter text area: one repository name per line,
+ * optionally followed by a targeted version (name&lt;tab&gt;version)
+ */
+public final class FilterQuery {
+
+    /** Query that matches every repository */
+    public static final FilterQuery EMPTY = new FilterQuery(List.of(), Map.of());
+
+    private final List<String> names;
+    private final Map<String, String> targetedVersions;
+
+    private FilterQuery(List<String> names, Map<String, String> targetedVersions) {
+        this.names = names;
+        this.targetedVersions = targetedVersions;
+    }
+
+    /**
+     * Parse pasted filter text. Names are lowercased; when a name appears more than
+     * once, the last version given for it wins.
+     *
+     * @param filter Raw filter text, may be null
+     * @return Parsed query, {@link #EMPTY} when no names were found
+     */
+    public static FilterQuery parse(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return EMPTY;
+        }
+
+        List<String> repoNames = new ArrayList<>();
+        Map<String, String> versions = new HashMap<>();
+
+        // Split filter text by lines and extract repository names and versions
+        for (String line : filter.split("\\r?\\n")) {
+            String cleanLine = line.trim();
+            if (cleanLine.isEmpty()) {
+                continue;
+            }
+            // Split by tabs or multiple spaces to get parts
+            String[] parts = cleanLine.split("[\\s\\t]+");
+            String repoName = parts[0].toLowerCase();
+            if (repoName.isEmpty()) {
+                continue;
+            }
+            repoNames.add(repoName);
+            if (parts.length >= 2) {
+                versions.put(repoName, parts[1]);
+            }
+        }
+
+        if (repoNames.isEmpty()) {
+            return EMPTY;
+        }
+        return new FilterQuery(Collections.unmodifiableList(repoNames), Collections.unmodifiableMap(versions));
+    }
+
+    /**
+     * @return true if the query has no names and therefore matches everything
+     */
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    /**
+     * @return Lowercase repository names in pasted order
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * Evaluate the query against an index.
+     *
+     * @param matcher Name index for the current repository list
+     * @return For each indexed repository, its targeted version ("" when none was given),
+     *         or null when the repository does not match
+     */
+    public String[] evaluate(RepositoryNameMatcher matcher) {
+        String[] result = new String[matcher.size()];
+        if (isEmpty()) {
+            Arrays.fill(result, "");
+            return result;
+        }
+        int[] matches = matcher.match(names);
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i] >= 0) {
+                String version = targetedVersions.get(names.get(matches[i]));
+                result[i] = version != null ? version : "";
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package com.tandvu.repobrowser.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * On-demand Java Flight Recorder recording to a file, using the low-overhead "default" settings
+ * plus the application's {@link ProfilingEvents}. At most one recording runs at a time.
+ */
+public final class FlightRecording {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecording.class);
+
+    private Recording recording;
+    private Path destination;
+
+    public synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Start recording; the file is written when the recording is stopped
+     *
+     * @param file Destination .jfr file
+     */
+    public synchronized void start(Path file) throws IOException {
+        if (recording != null) {
+            throw new IllegalStateException("A recording is already running to " + destination);
+        }
+        Recording newRecording;
+        try {
+            newRecording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR configuration: " + e.getMessage(), e);
+        }
+        newRecording.setName("repo-browser");
+        newRecording.setToDisk(true);
+        // Still written if the application is closed while recording
+        newRecording.setDumpOnExit(true);
+        newRecording.enable(ProfilingEvents.DirectoryProbe.class);
+        newRecording.enable(ProfilingEvents.ManifestParse.class);
+        newRecording.enable(ProfilingEvents.ProcessRun.class);
+        newRecording.enable(ProfilingEvents.WarCopy.class);
+        newRecording.setDestination(file);
+        newRecording.start();
+        recording = newRecording;
+        destination = file;
+        logger.info("Started flight recording to {}", file);
+    }
+
+    /**
+     * Stop the running recording and write it to its file
+     *
+     * @return The recording file, or null if nothing was recording
+     */
+    public synchronized Path stop() {
+        if (recording == null) {
+            return null;
+        }
+        Path file = destination;
+        try {
+            recording.stop();
+        } finally {
+            recording.close();
+            recording = null;
+            destination = null;
+        }
+        logger.info("Wrote flight recording to {}", file);
+        return file;
+    }
+}
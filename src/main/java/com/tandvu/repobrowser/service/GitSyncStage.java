@@ -0,0 +1,50 @@
+package com.tandvu.repobrowser.service;
+
+import java.nio.file.Files;
+
+/**
+ * Check out master and pull. Skipped for opt-soa, which is not built from git.
+ * A failing checkout, pull or rev-parse fails the build, so a stale tree is never built and deployed.
+ */
+final class GitSyncStage implements BuildStage {
+
+    @Override
+    public String name() {
+        return "git-sync";
+    }
+
+    @Override
+    public boolean appliesTo(BuildContext context) {
+        return !context.isSoa();
+    }
+
+    @Override
+    public boolean run(BuildContext context) throws Exception {
+        context.log("=== Checking Git Repository ===\n");
+        if (!Files.exists(context.getRepoPath().resolve(".git"))) {
+            context.fail("Not a git repository: " + context.getRepoPath());
+            return false;
+        }
+
+        ProcessRunner.Result checkout = context.run(BuildService.GIT_TIMEOUT, "git", "checkout", "master");
+        if (!checkout.succeeded()) {
+            context.fail("Git checkout failed: " + checkout.describe());
+            return false;
+        }
+
+        ProcessRunner.Result pull = context.run(BuildService.GIT_TIMEOUT, "git", "pull");
+        if (!pull.succeeded()) {
+            context.fail("Git pull failed: " + pull.describe());
+            return false;
+        }
+
+        // The commit identifies the build in the history; without it a failed or cancelled capture would go unnoticed
+        String commit = context.capture(BuildService.GIT_TIMEOUT, "git", "rev-parse", "--short", "HEAD");
+        if (commit == null || commit.isEmpty()) {
+            context.fail(context.isCancelled() ? "Git rev-parse cancelled" : "Git rev-parse failed: cannot read the HEAD commit");
+            return false;
+        }
+        context.setCommit(commit);
+        return true;
+    }
+}
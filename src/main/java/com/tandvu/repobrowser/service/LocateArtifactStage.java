@@ -0,0 +1,26 @@
+package com.tandvu.repobrowser.service;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Find the WAR file produced by the build, ignoring WARs left over from earlier builds
+ */
+final class LocateArtifactStage implements BuildStage {
+
+    @Override
+    public String name() {
+        return "locate-artifact";
+    }
+
+    @Override
+    public boolean run(BuildContext context) throws Exception {
+        Path warFile = ArtifactLocator.load().locate(context.getRepositoryName(), context.getRepoPath(),
+            context.getOutputSince(), context.getLog());
+        if (warFile == null) {
+            return false;
+        }
+        context.setArtifacts(List.of(warFile));
+        return true;
+    }
+}
@@ -0,0 +1,366 @@
+package com.tandvu.repobrowser.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tandvu.repobrowser.model.BuildRecord;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Maven build of opt-soa. If opt-soa is a git working tree that was built successfully before,
+ * only the modules with changes since that build are built, together with the modules depending
+ * on them and the SOA WAR module ({@code mvn -T 1C -pl <changed>,SOA -amd install});
+ * nothing is built if nothing changed. {@code mvn clean install} runs when any pom.xml changed or
+ * a file was deleted (stale classes would survive otherwise), when there is no baseline, or when
+ * the repobrowser.soaBuild system property is "clean". The baseline is kept in the git directory:
+ * the commit of the last successful build and a hash of each file with local changes at the time,
+ * so a later revert of such a change counts as a change. The local repository is the normal
+ * persistent ~/.m2 unless repobrowser.mavenRepoLocal names another one.
+ *
+ * With repobrowser.mavenBackend set to "mvnd" or "auto", the Maven daemon runs the build when mvnd
+ * is on the PATH: it keeps a warm JVM with Maven and its plugins loaded between builds, so repeated
+ * builds in a session skip JVM startup and plugin class loading. Without mvnd, or by default, the
+ * build forks plain mvn.
+ */
+final class MavenBuildStage implements BuildStage {
+
+    private static final String BUILD_MODE = System.getProperty("repobrowser.soaBuild", "incremental");
+    private static final String REPO_LOCAL = System.getProperty("repobrowser.mavenRepoLocal");
+    private static final String BACKEND = System.getProperty("repobrowser.mavenBackend", "mvn");
+    private static final Duration DAEMON_TIMEOUT = Duration.ofMinutes(2);
+    private static final int HISTORY_DEPTH = 50;
+    private static final String WAR_MODULE = "SOA";
+    private static final String STATE_FILE = "repo-browser-soa-build.json";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final BuildHistory buildHistory;
+    private String executable;
+
+    MavenBuildStage(BuildHistory buildHistory) {
+        this.buildHistory = buildHistory;
+    }
+
+    /**
+     * What to build
+     *
+     * @param full true for clean install of everything
+     * @param modules Changed modules (paths relative to the repository) for an incremental build
+     * @param reason Why this plan was chosen, for the log
+     * @param state Working tree to record as the baseline once the build succeeded, or null
+     */
+    record Plan(boolean full, Set<String> modules, String reason, TreeState state) {
+
+        static Plan full(String reason, TreeState state) {
+            return new Plan(true, Set.of(), reason, state);
+        }
+    }
+
+    /**
+     * Working tree of a successful build
+     *
+     * @param commit HEAD at the time
+     * @param dirtyFiles SHA-256 of each file that differed from HEAD or was untracked, by path;
+     *                   an empty string for a deleted file
+     */
+    record TreeState(String commit, Map<String, String> dirtyFiles) {
+    }
+
+    @Override
+    public String name() {
+        return "mvn";
+    }
+
+    @Override
+    public boolean appliesTo(BuildContext context) {
+        return context.isSoa();
+    }
+
+    @Override
+    public boolean run(BuildContext context) throws Exception {
+        Plan plan = plan(context);
+        long fullEstimate = estimateFullBuildMillis();
+        String mvn = executable(context);
+
+        if (!plan.full() && plan.modules().isEmpty()) {
+            context.log("=== opt-soa is up to date (" + plan.reason() + "), skipping mvn ===\n");
+            context.setStageDetail("up to date");
+            context.setStageSavedMillis(fullEstimate);
+            context.acceptPreviousOutput();
+            saveState(context, plan.state());
+            return true;
+        }
+
+        ProcessRunner.Result result;
+        if (plan.full()) {
+            context.log("=== Running " + mvn + " clean install for opt-soa (" + plan.reason() + ") ===\n");
+            context.setStageDetail("clean: " + plan.reason() + " [" + mvn + "]");
+            result = context.run(BuildService.BUILD_TIMEOUT, BuildService.platformCommand(command(mvn, "clean", "install")));
+        } else {
+            // The WAR module may not depend on the changed modules; it is always rebuilt so the
+            // deploy stage finds a WAR written by this build
+            Set<String> reactor = new TreeSet<>(plan.modules());
+            if (reactor.add(WAR_MODULE)) {
+                context.log("Adding " + WAR_MODULE + " to the build to package a new WAR\n");
+            } else {
+                context.log(WAR_MODULE + " changed and is rebuilt with the other modules\n");
+            }
+            String modules = String.join(",", reactor);
+            context.log("=== Running incremental " + mvn + " install for opt-soa: " + modules + " and dependents ("
+                + plan.reason() + ") ===\n");
+            context.setStageDetail("incremental: " + modules + " [" + mvn + "]");
+            result = context.run(BuildService.BUILD_TIMEOUT,
+                BuildService.platformCommand(command(mvn, "-T", "1C", "-pl", modules, "-amd", "install")));
+            if (result.succeeded() && fullEstimate > 0) {
+                context.setStageSavedMillis(fullEstimate - result.durationMillis());
+                context.log("Incremental build saved about " + Math.max(0, fullEstimate - result.durationMillis()) / 1000
+                    + " s compared to the median clean build\n");
+            }
+        }
+        if (!result.succeeded()) {
+            context.fail("mvn failed: " + result.describe());
+            return false;
+        }
+        saveState(context, plan.state());
+        return true;
+    }
+
+    /**
+     * Decide between a clean, an incremental and no build, comparing the working tree with the
+     * one of the last successful build
+     */
+    Plan plan(BuildContext context) throws Exception {
+        Path repoPath = context.getRepoPath();
+        if (!Files.exists(repoPath.resolve(".git"))) {
+            return Plan.full("not a git working tree", null);
+        }
+        String head = context.capture(BuildService.GIT_TIMEOUT, "git", "rev-parse", "--short", "HEAD");
+        context.setCommit(head);
+        TreeState current = head != null ? currentState(context, head) : null;
+        if (BUILD_MODE.equalsIgnoreCase("clean")) {
+            return Plan.full("clean build requested", current);
+        }
+        TreeState baseline = loadState(context);
+        if (baseline == null) {
+            return Plan.full("no previous successful build", current);
+        }
+        if (current == null) {
+            return Plan.full("cannot read the state of the working tree", null);
+        }
+        if (!hasWarFile(repoPath)) {
+            return Plan.full("no WAR file from a previous build", current);
+        }
+
+        // Working tree against the baseline commit: commits since then and uncommitted changes
+        String diff = context.capture(BuildService.GIT_TIMEOUT, "git", "diff", "--name-status", "--no-renames", baseline.commit());
+        String untracked = context.capture(BuildService.GIT_TIMEOUT, "git", "ls-files", "--others", "--exclude-standard");
+        if (diff == null || untracked == null) {
+            return Plan.full("cannot diff against " + baseline.commit(), current);
+        }
+
+        Set<String> changed = new TreeSet<>();
+        for (String line : diff.split("\n")) {
+            // "<status>\t<path>"; anything else is a git warning on the merged stderr
+            String[] parts = line.split("\t", 2);
+            if (parts.length < 2 || baseline.dirtyFiles().containsKey(parts[1])) {
+                continue;
+            }
+            if (parts[0].startsWith("D")) {
+                return Plan.full("files deleted since " + baseline.commit(), current);
+            }
+            changed.add(parts[1]);
+        }
+        for (String line : untracked.split("\n")) {
+            if (!line.isBlank() && !baseline.dirtyFiles().containsKey(line)) {
+                changed.add(line);
+            }
+        }
+        // Files with local changes at the last build are compared by content, so reverting or
+        // deleting such a change is noticed even though git sees no difference to the commit
+        for (Map.Entry<String, String> entry : baseline.dirtyFiles().entrySet()) {
+            String file = entry.getKey();
+            String hash = current.dirtyFiles().containsKey(file) ? current.dirtyFiles().get(file) : hashFile(repoPath, file);
+            if (hash.equals(entry.getValue())) {
+                continue;
+            }
+            if (hash.isEmpty()) {
+                return Plan.full(file + " deleted since the last build", current);
+            }
+            changed.add(file);
+        }
+
+        Set<String> modules = new TreeSet<>();
+        for (String file : changed) {
+            if (Path.of(file).getFileName().toString().equals("pom.xml")) {
+                return Plan.full("pom.xml changed since " + baseline.commit(), current);
+            }
+            String module = moduleOf(repoPath, file);
+            if (module != null) {
+                modules.add(module);
+            }
+        }
+        String since = baseline.dirtyFiles().isEmpty() ? baseline.commit() : baseline.commit() + " with local changes";
+        return new Plan(false, modules, changed.size() + " changed files since " + since, current);
+    }
+
+    /**
+     * Content hash of every file that differs from HEAD or is untracked
+     *
+     * @return The state, or null if git cannot list the changes
+     */
+    private static TreeState currentState(BuildContext context, String head) throws Exception {
+        String modified = context.capture(BuildService.GIT_TIMEOUT, "git", "diff", "--name-only", "--no-renames", "HEAD");
+        String untracked = context.capture(BuildService.GIT_TIMEOUT, "git", "ls-files", "--others", "--exclude-standard");
+        if (modified == null || untracked == null) {
+            return null;
+        }
+        Map<String, String> dirtyFiles = new TreeMap<>();
+        for (String file : (modified + "\n" + untracked).split("\n")) {
+            if (!file.isBlank() && !file.startsWith("warning: ")) {
+                dirtyFiles.put(file, hashFile(context.getRepoPath(), file));
+            }
+        }
+        return new TreeState(head, dirtyFiles);
+    }
+
+    /**
+     * SHA-256 of a file in the repository, or an empty string if it does not exist
+     */
+    static String hashFile(Path repoPath, String file) throws Exception {
+        Path path = repoPath.resolve(file);
+        if (!Files.isRegularFile(path)) {
+            return "";
+        }
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(path)));
+    }
+
+    private static Path stateFile(BuildContext context) throws Exception {
+        // Inside the git directory: never committed, and survives mvn clean
+        String path = context.capture(BuildService.GIT_TIMEOUT, "git", "rev-parse", "--git-path", STATE_FILE);
+        return path != null ? context.getRepoPath().resolve(path) : null;
+    }
+
+    private static TreeState loadState(BuildContext context) throws Exception {
+        Path file = stateFile(context);
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            TreeState state = objectMapper.readValue(file.toFile(), TreeState.class);
+            return state.commit() != null && state.dirtyFiles() != null ? state : null;
+        } catch (IOException e) {
+            context.log("Cannot read " + file + ": " + e.getMessage() + "\n");
+            return null;
+        }
+    }
+
+    private static void saveState(BuildContext context, TreeState state) throws Exception {
+        Path file = state != null ? stateFile(context) : null;
+        if (file != null) {
+            objectMapper.writeValue(file.toFile(), state);
+        }
+    }
+
+    /**
+     * Directory of the nearest pom.xml above a changed file, relative to the repository;
+     * null for files of the root (aggregator) project
+     */
+    static String moduleOf(Path repoPath, String file) {
+        Path dir = repoPath.resolve(file).getParent();
+        while (dir != null && dir.startsWith(repoPath) && !dir.equals(repoPath)) {
+            if (Files.exists(dir.resolve("pom.xml"))) {
+                return repoPath.relativize(dir).toString().replace('\\', '/');
+            }
+            dir = dir.getParent();
+        }
+        return null;
+    }
+
+    /**
+     * Median duration of the recent clean builds, or 0 if there is none
+     */
+    private long estimateFullBuildMillis() {
+        List<Long> durations = new ArrayList<>();
+        for (BuildRecord record : buildHistory.recent("opt-soa", HISTORY_DEPTH)) {
+            for (BuildRecord.Stage stage : record.stages()) {
+                if (stage.name().equals(name()) && stage.exitCode() == 0
+                        && (stage.detail().isEmpty() || stage.detail().startsWith("clean"))) {
+                    durations.add(stage.durationMillis());
+                }
+            }
+        }
+        if (durations.isEmpty()) {
+            return 0;
+        }
+        durations.sort(null);
+        return durations.get(durations.size() / 2);
+    }
+
+    private static boolean hasWarFile(Path repoPath) {
+        return ArtifactLocator.load().locate("opt-soa", repoPath, 0, text -> { }) != null;
+    }
+
+    /**
+     * mvnd if it was asked for, is on the PATH and its daemon answers, otherwise mvn; decided once
+     * per session. The version check also starts the daemon if none is running.
+     */
+    private synchronized String executable(BuildContext context) throws IOException, InterruptedException {
+        if (executable == null) {
+            executable = "mvn";
+            if (BACKEND.equalsIgnoreCase("mvnd") || BACKEND.equalsIgnoreCase("auto")) {
+                if (!isOnPath("mvnd")) {
+                    context.log("mvnd not found on PATH, building with mvn\n");
+                } else if (context.capture(DAEMON_TIMEOUT, BuildService.platformCommand("mvnd", "--version")) == null) {
+                    context.log("mvnd --version failed, building with mvn\n");
+                } else {
+                    executable = "mvnd";
+                }
+            }
+        }
+        return executable;
+    }
+
+    static boolean isOnPath(String name) {
+        String path = System.getenv("PATH");
+        if (path == null) {
+            return false;
+        }
+        List<String> names = System.getProperty("os.name").toLowerCase().contains("win")
+            ? List.of(name + ".cmd", name + ".exe", name)
+            : List.of(name);
+        for (String dir : path.split(File.pathSeparator)) {
+            for (String candidate : names) {
+                try {
+                    Path file = Path.of(dir, candidate);
+                    if (Files.isRegularFile(file) && Files.isExecutable(file)) {
+                        return true;
+                    }
+                } catch (InvalidPathException e) {
+                    // Malformed PATH entry
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String[] command(String mvn, String... goals) {
+        List<String> command = new ArrayList<>();
+        command.add(mvn);
+        if (REPO_LOCAL != null && !REPO_LOCAL.isBlank()) {
+            command.add("-Dmaven.repo.local=" + REPO_LOCAL);
+        }
+        command.addAll(List.of(goals));
+        return command.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,260 @@
+package com.tandvu.repobrowser.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process timers, counters and histograms for the scan, filter, build and deploy phases.
+ * Metrics are created on first use by name and are thread-safe; recording is lock-free.
+ * The {@link #global()} registry is shown by the diagnostics window and can be dumped as JSON.
+ */
+public final class MetricsRegistry {
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @return The application-wide registry
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    public Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * Point-in-time values of all metrics, sorted by name
+     */
+    public List<MetricSnapshot> snapshot() {
+        List<MetricSnapshot> snapshot = new ArrayList<>();
+        counters.values().forEach(counter -> snapshot.add(counter.snapshot()));
+        timers.values().forEach(timer -> snapshot.add(timer.snapshot()));
+        histograms.values().forEach(histogram -> snapshot.add(histogram.snapshot()));
+        snapshot.sort((m1, m2) -> m1.name().compareTo(m2.name()));
+        return snapshot;
+    }
+
+    /**
+     * Write all metrics as JSON
+     */
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("timestamp", System.currentTimeMillis());
+        document.put("metrics", snapshot());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), document);
+    }
+
+    /**
+     * Clear all recorded values. The metrics are zeroed in place rather than removed, so callers
+     * holding a metric keep recording into the registry; values recorded while the reset runs may
+     * be partly kept.
+     */
+    public void reset() {
+        counters.values().forEach(Counter::reset);
+        timers.values().forEach(Timer::reset);
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Values of one metric. Timer values are in milliseconds; counters only have a count.
+     *
+     * @param name Metric name, e.g. scan.detectVersion
+     * @param type counter, timer or histogram
+     * @param count Number of recorded values (the value of a counter)
+     * @param total Sum of the recorded values
+     * @param mean Mean value
+     * @param p50 Approximate median
+     * @param p95 Approximate 95th percentile
+     * @param max Largest recorded value
+     */
+    public record MetricSnapshot(String name, String type, long count, double total, double mean, double p50, double p95, double max) {
+    }
+
+    /**
+     * Monotonic event count
+     */
+    public static final class Counter {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        public void increment() {
+            count.increment();
+        }
+
+        public void add(long amount) {
+            count.add(amount);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        void reset() {
+            count.reset();
+        }
+
+        MetricSnapshot snapshot() {
+            long value = count.sum();
+            return new MetricSnapshot(name, "counter", value, value, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Distribution of non-negative values in power-of-two buckets; percentiles are bucket upper bounds
+     */
+    public static final class Histogram {
+        private static final int BUCKETS = 64;
+
+        private final String name;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Histogram(String name) {
+            this.name = name;
+        }
+
+        public void record(long value) {
+            long v = Math.max(0, value);
+            buckets.incrementAndGet(v == 0 ? 0 : 64 - Long.numberOfLeadingZeros(v) - 1);
+            count.increment();
+            total.add(v);
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        void reset() {
+            count.reset();
+            total.reset();
+            max.set(0);
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+        }
+
+        long percentile(double fraction) {
+            long n = count.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(fraction * n);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    // Upper bound of the bucket, capped by the largest value seen
+                    return Math.min(i == 0 ? 1 : (2L << i) - 1, max.get());
+                }
+            }
+            return max.get();
+        }
+
+        MetricSnapshot snapshot() {
+            return snapshot("histogram", 1);
+        }
+
+        MetricSnapshot snapshot(String type, double scale) {
+            long n = count.sum();
+            double sum = total.sum() / scale;
+            return new MetricSnapshot(name, type, n, sum, n == 0 ? 0 : sum / n,
+                percentile(0.5) / scale, percentile(0.95) / scale, max.get() / scale);
+        }
+    }
+
+    /**
+     * Durations, recorded in nanoseconds and reported in milliseconds
+     */
+    public static final class Timer {
+        private final Histogram nanos;
+
+        private Timer(String name) {
+            this.nanos = new Histogram(name);
+        }
+
+        /**
+         * Start timing; stop with {@link Sample#stop()}, typically in a finally block (a
+         * try-with-resources on a sample that is never referenced draws -Xlint:try warnings)
+         */
+        public Sample start() {
+            return new Sample(this, System.nanoTime());
+        }
+
+        public void record(long durationNanos) {
+            nanos.record(durationNanos);
+        }
+
+        public long getCount() {
+            return nanos.getCount();
+        }
+
+        void reset() {
+            nanos.reset();
+        }
+
+        MetricSnapshot snapshot() {
+            return nanos.snapshot("timer", 1_000_000.0);
+        }
+    }
+
+    /**
+     * A running timing
+     */
+    public static final class Sample implements AutoCloseable {
+        private final Timer timer;
+        private final long startNanos;
+
+        private Sample(Timer timer, long startNanos) {
+            this.timer = timer;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Record the elapsed time
+         *
+         * @return The elapsed time in nanoseconds
+         */
+        public long stop() {
+            long elapsed = System.nanoTime() - startNanos;
+            timer.record(elapsed);
+            return elapsed;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.tandvu.repobrowser.service;
+
+/**
+ * npm run build, for every repository except opt-soa
+ */
+final class NpmBuildStage implements BuildStage {
+
+    @Override
+    public String name() {
+        return "npm";
+    }
+
+    @Override
+    public boolean appliesTo(BuildContext context) {
+        return !context.isSoa();
+    }
+
+    @Override
+    public boolean run(BuildContext context) throws Exception {
+        context.log("=== Running npm run build ===\n");
+        ProcessRunner.Result result = context.run(BuildService.BUILD_TIMEOUT, BuildService.platformCommand("npm", "run", "build"));
+        if (!result.succeeded()) {
+            context.fail("npm build failed: " + result.describe());
+            return false;
+        }
+        return true;
+    }
+}
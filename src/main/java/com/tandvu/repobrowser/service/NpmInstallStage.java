@@ -0,0 +1,95 @@
+package com.tandvu.repobrowser.service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Install npm dependencies when they may be out of date, for every repository except opt-soa.
+ * A repository without package.json fails here, before npm install or npm run build start.
+ * The SHA-256 of package-lock.json is stored in node_modules after a successful {@code npm ci};
+ * the install is skipped while the lockfile still has that hash, so a pull that changed the
+ * lockfile reinstalls and a pull that did not costs nothing. Deleting node_modules forces an
+ * install. Packages come from the npm cache first ({@code --prefer-offline}); the cache is npm's
+ * default (~/.npm, shared by all repositories) unless repobrowser.npmCache names another directory.
+ */
+final class NpmInstallStage implements BuildStage {
+
+    private static final String LOCKFILE = "package-lock.json";
+    private static final String HASH_FILE = ".repo-browser-lock.sha256";
+    private static final String NPM_CACHE = System.getProperty("repobrowser.npmCache");
+
+    @Override
+    public String name() {
+        return "npm-install";
+    }
+
+    @Override
+    public boolean appliesTo(BuildContext context) {
+        return !context.isSoa();
+    }
+
+    @Override
+    public boolean run(BuildContext context) throws Exception {
+        // Checked before any npm process, which would otherwise fail with a bare ENOENT
+        context.log("=== Checking for package.json ===\n");
+        if (!Files.exists(context.getRepoPath().resolve("package.json"))) {
+            context.fail("package.json not found in repository");
+            return false;
+        }
+
+        Path lockfile = context.getRepoPath().resolve(LOCKFILE);
+        Path nodeModules = context.getRepoPath().resolve("node_modules");
+        if (!Files.isRegularFile(lockfile)) {
+            if (Files.isDirectory(nodeModules)) {
+                context.log("=== No " + LOCKFILE + ", using existing node_modules ===\n");
+                context.setStageDetail("skipped: no lockfile");
+                return true;
+            }
+            // Without --no-package-lock npm would leave an untracked lockfile in the working tree,
+            // which breaks the next pull once the repository adds one
+            context.log("=== No " + LOCKFILE + " and no node_modules, running npm install --no-package-lock ===\n");
+            context.setStageDetail("install: no lockfile");
+            return install(context, "install", "--no-package-lock");
+        }
+
+        String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(lockfile)));
+        Path hashFile = nodeModules.resolve(HASH_FILE);
+        String installedHash = Files.isRegularFile(hashFile) ? Files.readString(hashFile).trim() : null;
+        if (hash.equals(installedHash)) {
+            context.log("=== " + LOCKFILE + " unchanged (" + hash.substring(0, 12) + "), skipping npm ci ===\n");
+            context.setStageDetail("skipped: lockfile unchanged");
+            return true;
+        }
+
+        String reason = installedHash == null ? "no record of an install" : "lockfile changed";
+        context.log("=== Running npm ci (" + reason + ", " + hash.substring(0, 12) + ") ===\n");
+        context.setStageDetail("ci: " + reason);
+        if (!install(context, "ci")) {
+            return false;
+        }
+        // npm ci recreates node_modules, so the hash is written afterwards; without dependencies
+        // there is no node_modules at all
+        Files.createDirectories(nodeModules);
+        Files.writeString(hashFile, hash + "\n");
+        return true;
+    }
+
+    private static boolean install(BuildContext context, String command, String... options) throws Exception {
+        List<String> npm = new ArrayList<>(List.of("npm", command, "--prefer-offline", "--no-audit", "--no-fund"));
+        npm.addAll(List.of(options));
+        if (NPM_CACHE != null && !NPM_CACHE.isBlank()) {
+            npm.add("--cache");
+            npm.add(NPM_CACHE);
+        }
+        ProcessRunner.Result result = context.run(BuildService.BUILD_TIMEOUT, BuildService.platformCommand(npm.toArray(String[]::new)));
+        if (!result.succeeded()) {
+            context.fail("npm " + command + " failed: " + result.describe());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,286 @@
+package com.tandvu.repobrowser.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Runs external processes (git, npm, mvn) with a timeout and cancellation. Output is drained on a
+ * separate thread, so the waiting thread can enforce the timeout even if the process prints
+ * nothing; on timeout or {@link #cancelAll()} the whole process tree is killed, because npm and
+ * mvn run their work in child processes that would otherwise survive. After a cancel no new
+ * process starts until {@link #reset()}, so a build between two processes cannot carry on. CPU time and peak resident
+ * memory of the tree are sampled while the process runs (memory only where /proc is available).
+ */
+public class ProcessRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessRunner.class);
+
+    private static final long POLL_MILLIS = 250;
+    private static final long KILL_GRACE_MILLIS = 2000;
+    private static final boolean PROC_AVAILABLE = Files.isDirectory(Path.of("/proc/self"));
+
+    /**
+     * Outcome of one process run
+     *
+     * @param exitCode Exit code, or -1 if the process was killed
+     * @param timedOut true if the process was killed because it exceeded its timeout
+     * @param cancelled true if the process was killed by {@link #cancelAll()}
+     * @param durationMillis Wall-clock duration
+     * @param cpuMillis CPU time of the process and its descendants as last sampled, or -1 if unavailable
+     * @param peakRssBytes Largest sampled resident memory of the process tree, or -1 if unavailable
+     */
+    public record Result(int exitCode, boolean timedOut, boolean cancelled, long durationMillis, long cpuMillis, long peakRssBytes) {
+
+        public boolean succeeded() {
+            return exitCode == 0 && !timedOut && !cancelled;
+        }
+
+        /**
+         * Short summary for the build log, e.g. "exit 0 in 1:23, CPU 2:10, peak RSS 812 MB"
+         */
+        public String describe() {
+            StringBuilder text = new StringBuilder();
+            if (timedOut) {
+                text.append("timed out");
+            } else if (cancelled) {
+                text.append("cancelled");
+            } else {
+                text.append("exit ").append(exitCode);
+            }
+            text.append(" in ").append(formatMillis(durationMillis));
+            if (cpuMillis >= 0) {
+                text.append(", CPU ").append(formatMillis(cpuMillis));
+            }
+            if (peakRssBytes >= 0) {
+                text.append(", peak RSS ").append(peakRssBytes / (1024 * 1024)).append(" MB");
+            }
+            return text.toString();
+        }
+
+        private static String formatMillis(long millis) {
+            long seconds = millis / 1000;
+            return String.format("%d:%02d", seconds / 60, seconds % 60);
+        }
+    }
+
+    private final Set<Process> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * Run a command and wait for it to finish, time out or be cancelled
+     *
+     * @param directory Working directory
+     * @param timeout Maximum run time; the process tree is killed when it is exceeded
+     * @param output Receives the combined stdout/stderr, one line at a time including the newline
+     * @param command Command and arguments
+     * @return The result; cancelled without starting the process if {@link #cancelAll()} was called since the last {@link #reset()}
+     * @throws IOException if the process cannot be started
+     * @throws InterruptedException if the calling thread is interrupted; the process tree is killed first
+     */
+    public Result run(Path directory, Duration timeout, Consumer<String> output, String... command)
+            throws IOException, InterruptedException {
+        if (cancelled) {
+            logger.info("Cancelled: not starting {}", String.join(" ", command));
+            return new Result(-1, false, true, 0, -1, -1);
+        }
+        ProcessBuilder builder = new ProcessBuilder(command);
+        builder.directory(directory.toFile());
+        builder.redirectErrorStream(true);
+        // Fail instead of waiting for credentials on a terminal nobody sees
+        builder.environment().put("GIT_TERMINAL_PROMPT", "0");
+
+        ProfilingEvents.ProcessRun event = new ProfilingEvents.ProcessRun();
+        event.begin();
+        long start = System.nanoTime();
+        Process process = builder.start();
+        running.add(process);
+        if (cancelled) {
+            // cancelAll() ran while the process was starting and did not see it
+            killTree(process);
+        }
+        process.getOutputStream().close();
+
+        AtomicLong lines = new AtomicLong();
+        Thread drain = new Thread(() -> drain(process, output, lines), "process-output");
+        drain.setDaemon(true);
+        drain.start();
+
+        ResourceSampler sampler = new ResourceSampler(process.toHandle());
+        long deadline = start + timeout.toNanos();
+        boolean timedOut = false;
+        boolean killed = false;
+        try {
+            while (!process.waitFor(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                sampler.sample();
+                if (cancelled) {
+                    killed = true;
+                } else if (System.nanoTime() - deadline > 0) {
+                    timedOut = true;
+                }
+                if (killed || timedOut) {
+                    logger.info("{} {}: killing process tree of {}", timedOut ? "Timed out" : "Cancelled",
+                        String.join(" ", command), process.pid());
+                    killTree(process);
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            killTree(process);
+            throw e;
+        } finally {
+            running.remove(process);
+        }
+        if (!timedOut && cancelled) {
+            // Killed by cancelAll() before the poll loop noticed
+            killed = true;
+        }
+        // Output still buffered in the pipe is read before the result is reported
+        drain.join(KILL_GRACE_MILLIS);
+
+        int exitCode = timedOut || killed ? -1 : process.exitValue();
+        Result result = new Result(exitCode, timedOut, killed, (System.nanoTime() - start) / 1_000_000,
+            sampler.cpuMillis(), sampler.peakRssBytes());
+        if (event.shouldCommit()) {
+            event.directory = directory.toString();
+            event.command = String.join(" ", command);
+            event.exitCode = exitCode;
+            event.outputLines = lines.get();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Kill the process trees of all running commands and refuse to start new ones until {@link #reset()}
+     */
+    public void cancelAll() {
+        cancelled = true;
+        for (Process process : List.copyOf(running)) {
+            killTree(process);
+        }
+    }
+
+    /**
+     * Allow processes to start again after {@link #cancelAll()}, e.g. when the next batch begins
+     */
+    public void reset() {
+        cancelled = false;
+    }
+
+    /**
+     * @return true if {@link #cancelAll()} was called since the last {@link #reset()}
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private static void drain(Process process, Consumer<String> output, AtomicLong lines) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.accept(line + "\n");
+                lines.incrementAndGet();
+            }
+        } catch (IOException e) {
+            // Stream closed because the process was killed
+            logger.debug("Output of process {} closed: {}", process.pid(), e.getMessage());
+        }
+    }
+
+    /**
+     * Destroy the process and every descendant. The descendants are listed before anything is
+     * destroyed, since orphaned children are re-parented and no longer show up as descendants;
+     * the process goes first so a shell or npm script cannot start its next command. Anything
+     * still alive after a grace period is killed forcibly.
+     */
+    private static void killTree(Process process) {
+        List<ProcessHandle> descendants = process.descendants().toList();
+        process.destroy();
+        descendants.forEach(ProcessHandle::destroy);
+        try {
+            if (!process.waitFor(KILL_GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+        descendants.stream().filter(ProcessHandle::isAlive).forEach(ProcessHandle::destroyForcibly);
+    }
+
+    /**
+     * Tracks CPU time (highest value seen per process, so exited children still count) and the
+     * largest total resident memory of a process tree
+     */
+    private static final class ResourceSampler {
+        private final ProcessHandle root;
+        private final Map<Long, Long> cpuByPid = new HashMap<>();
+        private boolean cpuAvailable;
+        private long peakRss = -1;
+
+        ResourceSampler(ProcessHandle root) {
+            this.root = root;
+        }
+
+        void sample() {
+            long rss = 0;
+            boolean rssAvailable = false;
+            for (ProcessHandle handle : Stream.concat(Stream.of(root), root.descendants()).toList()) {
+                Optional<Duration> cpu = handle.info().totalCpuDuration();
+                if (cpu.isPresent()) {
+                    cpuByPid.merge(handle.pid(), cpu.get().toMillis(), Math::max);
+                    cpuAvailable = true;
+                }
+                long processRss = residentBytes(handle.pid());
+                if (processRss >= 0) {
+                    rss += processRss;
+                    rssAvailable = true;
+                }
+            }
+            if (rssAvailable) {
+                peakRss = Math.max(peakRss, rss);
+            }
+        }
+
+        long cpuMillis() {
+            return cpuAvailable ? cpuByPid.values().stream().mapToLong(Long::longValue).sum() : -1;
+        }
+
+        long peakRssBytes() {
+            return peakRss;
+        }
+
+        private static long residentBytes(long pid) {
+            if (!PROC_AVAILABLE) {
+                return -1;
+            }
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Process exited between listing and reading
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tandvu.repobrowser.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for the scan, build and deploy phases. They cost next to nothing
+ * unless a recording is running (see {@link FlightRecording}, or {@code -XX:StartFlightRecording}),
+ * and show up under "Repo Browser" in JDK Mission Control.
+ */
+public final class ProfilingEvents {
+
+    private ProfilingEvents() {
+    }
+
+    @Name("com.tandvu.repobrowser.DirectoryProbe")
+    @Label("Directory Probe")
+    @Description("Version detection of one repository directory during a scan")
+    @Category({"Repo Browser", "Scan"})
+    @StackTrace(false)
+    public static final class DirectoryProbe extends Event {
+        @Label("Directory")
+        public String directory;
+
+        @Label("Version")
+        public String version;
+    }
+
+    @Name("com.tandvu.repobrowser.ManifestParse")
+    @Label("Manifest Parse")
+    @Description("Read of package.json, pom.xml, build.gradle or an SOA version file")
+    @Category({"Repo Browser", "Scan"})
+    @StackTrace(false)
+    public static final class ManifestParse extends Event {
+        @Label("File")
+        public String file;
+
+        @Label("Size")
+        @DataAmount
+        public long size;
+
+        @Label("Version Found")
+        public boolean versionFound;
+    }
+
+    @Name("com.tandvu.repobrowser.ProcessRun")
+    @Label("Process Run")
+    @Description("External git, mvn or npm process started by a build")
+    @Category({"Repo Browser", "Build"})
+    @StackTrace(false)
+    public static final class ProcessRun extends Event {
+        @Label("Directory")
+        public String directory;
+
+        @Label("Command")
+        public String command;
+
+        @Label("Exit Code")
+        public int exitCode;
+
+        @Label("Output Lines")
+        public long outputLines;
+    }
+
+    @Name("com.tandvu.repobrowser.WarCopy")
+    @Label("WAR Copy")
+    @Description("Copy of a built WAR file into the deployment directory")
+    @Category({"Repo Browser", "Deploy"})
+    @StackTrace(false)
+    public static final class WarCopy extends Event {
+        @Label("Repository")
+        public String repository;
+
+        @Label("WAR File")
+        public String warFile;
+
+        @Label("Size")
+        @DataAmount
+        public long size;
+    }
+}
@@ -0,0 +1,243 @@
+package com.tandvu.repobrowser.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed index over lowercase repository names used by the multi-name filter.
+ *
+ * A filter name matches a repository when either string contains the other. Both
+ * directions are answered from structures built once per scan:
+ * an Aho-Corasick automaton over the repository names finds every name that occurs
+ * inside a filter name, and a suffix array over the concatenated names finds every
+ * name that contains a filter name. Matching a pasted list therefore costs roughly
+ * the length of the list plus the number of matches, instead of repos x names.
+ */
+public class RepositoryNameMatcher {
+
+    /** Matcher over no repositories */
+    public static final RepositoryNameMatcher EMPTY = new RepositoryNameMatcher(List.of());
+
+    private static final char SEPARATOR = '\u0000';
+
+    private final int repositoryCount;
+
+    // Aho-Corasick automaton (node 0 is the root)
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<int[]> terminals = new ArrayList<>();
+    private int[] failure;
+    private int[] dictionaryLink;
+
+    // Suffix array over "name0\0name1\0..."
+    private final char[] text;
+    private final int[] owner;
+    private final int[] suffixes;
+
+    /**
+     * Build the index for the given repository names.
+     *
+     * @param repositoryNames Names in table order; match results use the same indices
+     */
+    public RepositoryNameMatcher(List<String> repositoryNames) {
+        this.repositoryCount = repositoryNames.size();
+
+        List<String> lowerNames = new ArrayList<>(repositoryCount);
+        for (String name : repositoryNames) {
+            lowerNames.add(name == null ? "" : name.toLowerCase());
+        }
+
+        buildAutomaton(lowerNames);
+
+        int length = 0;
+        for (String name : lowerNames) {
+            length += name.length() + 1;
+        }
+        this.text = new char[length];
+        this.owner = new int[length];
+        List<Integer> starts = new ArrayList<>(length);
+        int pos = 0;
+        for (int id = 0; id < lowerNames.size(); id++) {
+            String name = lowerNames.get(id);
+            for (int i = 0; i < name.length(); i++) {
+                text[pos] = name.charAt(i);
+                owner[pos] = id;
+                starts.add(pos);
+                pos++;
+            }
+            text[pos] = SEPARATOR;
+            owner[pos] = id;
+            pos++;
+        }
+        starts.sort(this::compareSuffixes);
+        this.suffixes = starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return Number of repositories covered by this index
+     */
+    public int size() {
+        return repositoryCount;
+    }
+
+    /**
+     * Match a list of lowercase filter names against the indexed repositories.
+     *
+     * @param filterNames Filter names in pasted order
+     * @return For each repository index, the index of the first filter name that matches it, or -1
+     */
+    public int[] match(List<String> filterNames) {
+        int[] result = new int[repositoryCount];
+        Arrays.fill(result, -1);
+
+        for (int f = 0; f < filterNames.size(); f++) {
+            String filterName = filterNames.get(f);
+            if (filterName == null || filterName.isEmpty()) {
+                continue;
+            }
+            collectNamesContaining(filterName, result, f);
+            collectNamesContainedIn(filterName, result, f);
+        }
+        return result;
+    }
+
+    /**
+     * Repository names that contain the filter name (suffix array range lookup)
+     */
+    private void collectNamesContaining(String filterName, int[] result, int filterIndex) {
+        int low = 0;
+        int high = suffixes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(suffixes[mid], filterName) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < suffixes.length && comparePrefix(suffixes[i], filterName) == 0; i++) {
+            int id = owner[suffixes[i]];
+            if (result[id] == -1) {
+                result[id] = filterIndex;
+            }
+        }
+    }
+
+    /**
+     * Repository names that occur inside the filter name (Aho-Corasick scan)
+     */
+    private void collectNamesContainedIn(String filterName, int[] result, int filterIndex) {
+        int state = 0;
+        for (int i = 0; i < filterName.length(); i++) {
+            char c = filterName.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while (next == null && state != 0) {
+                state = failure[state];
+                next = transitions.get(state).get(c);
+            }
+            state = next == null ? 0 : next;
+
+            for (int node = state; node > 0; node = dictionaryLink[node]) {
+                for (int id : terminals.get(node)) {
+                    if (result[id] == -1) {
+                        result[id] = filterIndex;
+                    }
+                }
+            }
+        }
+    }
+
+    private void buildAutomaton(List<String> lowerNames) {
+        transitions.add(new HashMap<>());
+        List<List<Integer>> ends = new ArrayList<>();
+        ends.add(new ArrayList<>());
+
+        for (int id = 0; id < lowerNames.size(); id++) {
+            String name = lowerNames.get(id);
+            if (name.isEmpty()) {
+                continue;
+            }
+            int node = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(node).put(c, next);
+                    transitions.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                node = next;
+            }
+            ends.get(node).add(id);
+        }
+
+        int nodeCount = transitions.size();
+        failure = new int[nodeCount];
+        dictionaryLink = new int[nodeCount];
+        for (List<Integer> nodeEnds : ends) {
+            terminals.add(nodeEnds.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        // Breadth-first pass to compute failure and dictionary links
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+
+                int fallback = failure[node];
+                Integer target = transitions.get(fallback).get(c);
+                while (target == null && fallback != 0) {
+                    fallback = failure[fallback];
+                    target = transitions.get(fallback).get(c);
+                }
+                failure[child] = target == null ? 0 : target;
+
+                int link = failure[child];
+                dictionaryLink[child] = terminals.get(link).length > 0 ? link : dictionaryLink[link];
+                queue.add(child);
+            }
+        }
+    }
+
+    private int compareSuffixes(int a, int b) {
+        while (a < text.length && b < text.length) {
+            char ca = text[a];
+            char cb = text[b];
+            if (ca != cb) {
+                return Character.compare(ca, cb);
+            }
+            if (ca == SEPARATOR) {
+                return 0;
+            }
+            a++;
+            b++;
+        }
+        return 0;
+    }
+
+    /**
+     * Compare the suffix starting at {@code start} with {@code prefix}, looking only at
+     * the first prefix.length() characters. Returns 0 when the suffix starts with the prefix.
+     */
+    private int comparePrefix(int start, String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            int pos = start + i;
+            char c = pos < text.length ? text[pos] : SEPARATOR;
+            char p = prefix.charAt(i);
+            if (c != p) {
+                return Character.compare(c, p);
+            }
+        }
+        return 0;
+    }
+}
@@ -1,32 +1,45 @@
 package com.tandvu.repobrowser.service;
 
-import com.tandvu.repobrowser.model.Repository;
+import com.tandvu.repobrowser.model.RepositorySnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
- * Service for scanning directories to find repositories
+ * Service for scanning directories to find repositories.
+ * Produces immutable {@link RepositorySnapshot}s and has no JavaFX dependency, so it can run headless.
  */
 public class RepositoryScanner {
     
     private static final Logger logger = LoggerFactory.getLogger(RepositoryScanner.class);
+
+    private static final Pattern PACKAGE_JSON_VERSION = Pattern.compile("\"version\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern POM_VERSION = Pattern.compile("<version>([^<]+)</version>");
+    private static final Pattern GRADLE_VERSION = Pattern.compile("version\\s*[=:]\\s*['\"]([^'\"]+)['\"]");
+    private static final Pattern SOA_FILE_VERSION = Pattern.compile("(?i)(?:version[=:\\s]+)([0-9]+(?:\\.[0-9]+)*(?:-[a-z0-9]+)?)");
+
+    private final MetricsRegistry.Timer scanTimer = MetricsRegistry.global().timer("scan.repositories");
+    private final MetricsRegistry.Timer detectVersionTimer = MetricsRegistry.global().timer("scan.detectVersion");
+    private final MetricsRegistry.Histogram repositoryCount = MetricsRegistry.global().histogram("scan.repositoryCount");
     
     /**
      * Scan the given base path for repositories (top-level directories only)
      * 
      * @param basePath The base path to scan
-     * @return List of found repositories
+     * @return List of found repositories, sorted by name
      * @throws IOException if there's an error accessing the file system
      */
-    public List<Repository> scanForRepositories(Path basePath) throws IOException {
+    public List<RepositorySnapshot> scanForRepositories(Path basePath) throws IOException {
         logger.info("Scanning for repositories in: {}", basePath);
         
         if (!Files.exists(basePath)) {
@@ -37,7 +50,8 @@ public class RepositoryScanner {
             throw new IOException("Base path is not a directory: " + basePath);
         }
         
-        List<Repository> repositories = new ArrayList<>();
+        MetricsRegistry.Sample sample = scanTimer.start();
+        List<RepositorySnapshot> repositories = new ArrayList<>();
         
         try (DirectoryStream<Path> stream = Files.newDirectoryStream(basePath, Files::isDirectory)) {
             for (Path dir : stream) {
@@ -48,14 +62,20 @@ public class RepositoryScanner {
                     continue;
                 }
                 
-                // Create repository entry
-                Repository repo = new Repository(dirName, dir.toString());
-                
                 // Try to detect repository version
+                ProfilingEvents.DirectoryProbe probe = new ProfilingEvents.DirectoryProbe();
+                probe.begin();
+                MetricsRegistry.Sample detectSample = detectVersionTimer.start();
                 String version = detectRepositoryVersion(dir);
-                repo.setRepoVersion(version);
+                detectSample.stop();
+                if (probe.shouldCommit()) {
+                    probe.directory = dir.toString();
+                    probe.version = version;
+                    probe.commit();
+                }
                 
-                repositories.add(repo);
+                // Create repository entry
+                repositories.add(new RepositorySnapshot(dirName, dir.toString(), version));
                 
                 logger.debug("Found repository: {} at {}", dirName, dir);
             }
@@ -63,9 +83,11 @@ public class RepositoryScanner {
         
         // Sort by name for consistent ordering
         repositories = repositories.stream()
-            .sorted((r1, r2) -> r1.getName().compareToIgnoreCase(r2.getName()))
+            .sorted((r1, r2) -> r1.name().compareToIgnoreCase(r2.name()))
             .collect(Collectors.toList());
         
+        sample.stop();
+        repositoryCount.record(repositories.size());
         logger.info("Found {} repositories in {}", repositories.size(), basePath);
         return repositories;
     }
@@ -110,53 +132,112 @@ public class RepositoryScanner {
      */
     public String detectRepositoryVersion(Path repoPath) {
         // Try package.json for Node.js projects
-        Path packageJson = repoPath.resolve("package.json");
-        if (Files.exists(packageJson)) {
-            try {
-                String content = Files.readString(packageJson);
-                // Simple regex to extract version from package.json
-                java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("\"version\"\\s*:\\s*\"([^\"]+)\"");
-                java.util.regex.Matcher matcher = pattern.matcher(content);
-                if (matcher.find()) {
-                    return matcher.group(1);
-                }
-            } catch (Exception e) {
-                logger.debug("Error reading package.json for {}: {}", repoPath.getFileName(), e.getMessage());
-            }
+        String version = findVersion(repoPath, "package.json", PACKAGE_JSON_VERSION);
+        if (version != null) {
+            return version;
         }
         
         // Try pom.xml for Maven projects
-        Path pomXml = repoPath.resolve("pom.xml");
-        if (Files.exists(pomXml)) {
-            try {
-                String content = Files.readString(pomXml);
-                // Simple regex to extract version from pom.xml
-                java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("<version>([^<]+)</version>");
-                java.util.regex.Matcher matcher = pattern.matcher(content);
-                if (matcher.find()) {
-                    return matcher.group(1);
-                }
-            } catch (Exception e) {
-                logger.debug("Error reading pom.xml for {}: {}", repoPath.getFileName(), e.getMessage());
-            }
+        version = findVersion(repoPath, "pom.xml", POM_VERSION);
+        if (version != null) {
+            return version;
         }
         
         // Try build.gradle for Gradle projects
-        Path buildGradle = repoPath.resolve("build.gradle");
-        if (Files.exists(buildGradle)) {
-            try {
-                String content = Files.readString(buildGradle);
-                // Simple regex to extract version from build.gradle
-                java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("version\\s*[=:]\\s*['\"]([^'\"]+)['\"]");
-                java.util.regex.Matcher matcher = pattern.matcher(content);
-                if (matcher.find()) {
-                    return matcher.group(1);
+        version = findVersion(repoPath, "build.gradle", GRADLE_VERSION);
+        if (version != null) {
+            return version;
+        }
+        
+        return ""; // No version found
+    }
+
+    /**
+     * Read a manifest file of a repository and extract the first version match
+     * 
+     * @return The version, or null if the file does not exist, cannot be read or has no version
+     */
+    private String findVersion(Path repoPath, String fileName, Pattern pattern) {
+        Path file = repoPath.resolve(fileName);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ProfilingEvents.ManifestParse event = new ProfilingEvents.ManifestParse();
+        event.begin();
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            String content = new String(bytes, StandardCharsets.UTF_8);
+            Matcher matcher = pattern.matcher(content);
+            String version = matcher.find() ? matcher.group(1) : null;
+            if (event.shouldCommit()) {
+                event.file = file.toString();
+                event.size = bytes.length;
+                event.versionFound = version != null;
+                event.commit();
+            }
+            return version;
+        } catch (Exception e) {
+            logger.debug("Error reading {} for {}: {}", fileName, repoPath.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Create the opt-soa repository entry for an SOA directory
+     * 
+     * @param soaDir The SOA directory
+     * @return The opt-soa repository with its detected version
+     */
+    public RepositorySnapshot scanSoaRepository(Path soaDir) {
+        String version = "";
+        try {
+            version = detectSoaRepositoryVersion(soaDir);
+            logger.info("Detected version for opt-soa: '{}'", version);
+        } catch (Exception e) {
+            logger.warn("Could not detect version for opt-soa: {}", e.getMessage());
+        }
+        return new RepositorySnapshot("opt-soa", soaDir.toString(), version);
+    }
+
+    /**
+     * Detect version for opt-soa repository which may have a different structure
+     * 
+     * @param soaPath The SOA directory
+     * @return The detected version or empty string if not found
+     */
+    public String detectSoaRepositoryVersion(Path soaPath) {
+        // Try looking in subdirectories for version files
+        try {
+            java.nio.file.DirectoryStream<java.nio.file.Path> stream = 
+                java.nio.file.Files.newDirectoryStream(soaPath, java.nio.file.Files::isDirectory);
+            for (java.nio.file.Path subDir : stream) {
+                logger.debug("Checking SOA subdirectory: {}", subDir.getFileName());
+                try {
+                    String version = detectRepositoryVersion(subDir);
+                    if (version != null && !version.trim().isEmpty()) {
+                        logger.info("Found SOA version in subdirectory {}: {}", subDir.getFileName(), version);
+                        return version;
+                    }
+                } catch (Exception e) {
+                    logger.debug("Version detection failed in subdirectory {}: {}", subDir.getFileName(), e.getMessage());
                 }
-            } catch (Exception e) {
-                logger.debug("Error reading build.gradle for {}: {}", repoPath.getFileName(), e.getMessage());
+            }
+            stream.close();
+        } catch (Exception e) {
+            logger.debug("Error scanning SOA subdirectories: {}", e.getMessage());
+        }
+
+        // Look for version.properties, version.txt, or similar files
+        String[] versionFiles = {"version.properties", "version.txt", "VERSION", ".version"};
+        for (String fileName : versionFiles) {
+            String version = findVersion(soaPath, fileName, SOA_FILE_VERSION);
+            if (version != null) {
+                logger.info("Found SOA version in {}: {}", fileName, version);
+                return version;
             }
         }
         
-        return ""; // No version found
+        logger.info("Could not detect version for opt-soa repository");
+        return "";
     }
-}
\ No newline at end of file
+}
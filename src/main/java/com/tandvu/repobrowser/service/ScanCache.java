@@ -0,0 +1,86 @@
+package com.tandvu.repobrowser.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * Last scan result, persisted so the table can be shown immediately on startup while the
+ * real scan runs in the background. Stored as JSON in ~/.repo-browser/scan-cache.json.
+ */
+public class ScanCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScanCache.class);
+
+    private static final Path DEFAULT_CACHE_FILE = Path.of(System.getProperty("user.home"), ".repo-browser", "scan-cache.json");
+
+    /**
+     * Cached table row
+     */
+    public record Entry(String name, String path, String repoVersion, String deploymentVersion, String deploymentModified) {
+    }
+
+    /**
+     * Cached scan of one repository path
+     *
+     * @param basePath Repository path that was scanned
+     * @param repositories Repositories sorted by name
+     */
+    public record Contents(String basePath, List<Entry> repositories) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final Path cacheFile;
+
+    public ScanCache() {
+        this(DEFAULT_CACHE_FILE);
+    }
+
+    public ScanCache(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Load the cached repositories of a repository path
+     *
+     * @param basePath Repository path
+     * @return The cached repositories, empty if there is no cache for this path or it cannot be read
+     */
+    public List<Entry> load(String basePath) {
+        if (!Files.isRegularFile(cacheFile)) {
+            return List.of();
+        }
+        try {
+            Contents contents = objectMapper.readValue(cacheFile.toFile(), Contents.class);
+            if (contents.basePath() == null || !contents.basePath().equals(basePath) || contents.repositories() == null) {
+                return List.of();
+            }
+            return contents.repositories();
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable scan cache {}: {}", cacheFile, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Replace the cache with a new scan result. Written to a temporary file first so a
+     * crash never leaves a truncated cache behind.
+     */
+    public void save(String basePath, List<Entry> repositories) {
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), new Contents(basePath, repositories));
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            logger.warn("Failed to save scan cache {}: {}", cacheFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.tandvu.repobrowser.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.tandvu.repobrowser.model.VersionMismatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Streams a version report of repositories as JSON (array of objects) or CSV.
+ * Rows are written as they are passed in, so memory use does not grow with the number of repositories.
+ */
+public final class VersionReportWriter implements Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String[] COLUMNS = {
+        "name", "path", "ignored", "repoVersion", "targetedVersion", "deploymentVersion", "deploymentModified", "mismatch", "mismatchReason"
+    };
+
+    /**
+     * Report output format
+     */
+    public enum Format {
+        JSON, CSV;
+
+        /**
+         * @param fileName Output file name
+         * @return CSV for .csv files, JSON otherwise
+         */
+        public static Format forFileName(String fileName) {
+            return fileName.toLowerCase().endsWith(".csv") ? CSV : JSON;
+        }
+    }
+
+    /**
+     * One repository in the report
+     */
+    public record Row(String name, String path, boolean ignored, String repoVersion, String targetedVersion,
+                      String deploymentVersion, String deploymentModified, VersionMismatch mismatch) {
+
+        /**
+         * Create a row, classifying the mismatch from the versions
+         */
+        public static Row of(String name, String path, boolean ignored, String repoVersion, String targetedVersion,
+                             String deploymentVersion, String deploymentModified) {
+            return new Row(name, path, ignored, repoVersion, targetedVersion, deploymentVersion, deploymentModified,
+                VersionMismatch.of(ignored, repoVersion, targetedVersion, deploymentVersion));
+        }
+    }
+
+    private final Writer out;
+    private final JsonGenerator json;
+    private int count;
+
+    private VersionReportWriter(Writer out, JsonGenerator json) {
+        this.out = out;
+        this.json = json;
+    }
+
+    /**
+     * Start a report. The writer is closed when the report is closed.
+     *
+     * @param out Destination
+     * @param format Output format
+     * @return The report writer
+     */
+    public static VersionReportWriter open(Writer out, Format format) throws IOException {
+        if (format == Format.JSON) {
+            JsonGenerator json = JSON_FACTORY.createGenerator(out).useDefaultPrettyPrinter();
+            json.writeStartArray();
+            return new VersionReportWriter(out, json);
+        }
+        VersionReportWriter report = new VersionReportWriter(out, null);
+        report.writeCsvLine(COLUMNS);
+        return report;
+    }
+
+    /**
+     * Append a repository to the report
+     */
+    public void write(Row row) throws IOException {
+        String mismatchReason = row.mismatch().getDescription();
+        boolean mismatch = row.mismatch() != VersionMismatch.NONE;
+        if (json != null) {
+            json.writeStartObject();
+            json.writeStringField("name", row.name());
+            json.writeStringField("path", row.path());
+            json.writeBooleanField("ignored", row.ignored());
+            json.writeStringField("repoVersion", nullToEmpty(row.repoVersion()));
+            json.writeStringField("targetedVersion", nullToEmpty(row.targetedVersion()));
+            json.writeStringField("deploymentVersion", nullToEmpty(row.deploymentVersion()));
+            json.writeStringField("deploymentModified", nullToEmpty(row.deploymentModified()));
+            json.writeBooleanField("mismatch", mismatch);
+            json.writeStringField("mismatchReason", mismatchReason);
+            json.writeEndObject();
+        } else {
+            writeCsvLine(new String[] {
+                row.name(), row.path(), String.valueOf(row.ignored()), row.repoVersion(), row.targetedVersion(),
+                row.deploymentVersion(), row.deploymentModified(), String.valueOf(mismatch), mismatchReason
+            });
+        }
+        count++;
+    }
+
+    /**
+     * @return Number of rows written so far
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.writeEndArray();
+            json.writeRaw('\n');
+            json.close();
+        } else {
+            out.close();
+        }
+    }
+
+    private void writeCsvLine(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(escapeCsv(nullToEmpty(values[i])));
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Quote a CSV value if it contains a separator, quote or line break (RFC 4180)
+     */
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
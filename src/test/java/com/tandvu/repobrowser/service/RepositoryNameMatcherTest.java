@@ -0,0 +1,123 @@
+package com.tandvu.repobrowser.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the indexed matcher against the predicate it replaced: a repository matches the
+ * first filter name for which either lowercase string contains the other.
+ */
+class RepositoryNameMatcherTest {
+
+    private static final List<String> REPOSITORIES = List.of(
+        "opt-soa", "opt-orgchart", "opt-orgchart-web", "Opt-Reports", "opt-report", "OPT-ADMIN", "tools");
+
+    /**
+     * The filter as it was before the index: repos x names contains checks
+     */
+    private static int[] containsLoop(List<String> repositoryNames, List<String> filterNames) {
+        int[] result = new int[repositoryNames.size()];
+        for (int r = 0; r < repositoryNames.size(); r++) {
+            String repoNameLower = repositoryNames.get(r).toLowerCase();
+            result[r] = -1;
+            for (int f = 0; f < filterNames.size(); f++) {
+                String filterName = filterNames.get(f);
+                if (repoNameLower.contains(filterName) || filterName.contains(repoNameLower)) {
+                    result[r] = f;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void assertSameAsContainsLoop(List<String> repositoryNames, String filter) {
+        List<String> filterNames = FilterQuery.parse(filter).getNames();
+        assertArrayEquals(containsLoop(repositoryNames, filterNames),
+            new RepositoryNameMatcher(repositoryNames).match(filterNames), "filter: " + filter);
+    }
+
+    @Test
+    void foldsCaseOfRepositoryAndFilterNames() {
+        assertSameAsContainsLoop(REPOSITORIES, "OPT-REPORTS\nopt-admin\nOpt-Soa");
+        assertSameAsContainsLoop(REPOSITORIES, "ORGCHART");
+
+        int[] matches = new RepositoryNameMatcher(REPOSITORIES).match(FilterQuery.parse("OPT-REPORTS").getNames());
+        assertEquals(0, matches[3]);
+        assertEquals(0, matches[4]);
+    }
+
+    @Test
+    void ignoresEmptyLinesAndKeepsDuplicates() {
+        String filter = "\n   \nopt-soa\n\n\topt-soa\t1.2.0\n\nopt-admin\r\n\r\n";
+        assertSameAsContainsLoop(REPOSITORIES, filter);
+
+        List<String> names = FilterQuery.parse(filter).getNames();
+        assertEquals(List.of("opt-soa", "opt-soa", "opt-admin"), names);
+        int[] matches = new RepositoryNameMatcher(REPOSITORIES).match(names);
+        assertEquals(0, matches[0]);
+        assertEquals(2, matches[5]);
+        assertEquals(-1, matches[6]);
+    }
+
+    @Test
+    void matchesRepositoriesContainedInLongerFilterNames() {
+        assertSameAsContainsLoop(REPOSITORIES, "release/opt-orgchart-web-2024.war\nxx-tools-xx");
+        assertSameAsContainsLoop(REPOSITORIES, "opt-soa-opt-admin");
+
+        int[] matches = new RepositoryNameMatcher(REPOSITORIES).match(List.of("release/opt-orgchart-web-2024.war"));
+        assertEquals(0, matches[1]);
+        assertEquals(0, matches[2]);
+        assertEquals(-1, matches[0]);
+    }
+
+    @Test
+    void firstMatchingFilterWins() {
+        assertSameAsContainsLoop(REPOSITORIES, "opt\nopt-soa\norgchart");
+        assertSameAsContainsLoop(REPOSITORIES, "orgchart\nopt-orgchart-web\nopt");
+
+        int[] matches = new RepositoryNameMatcher(REPOSITORIES).match(List.of("orgchart", "opt-orgchart-web", "opt"));
+        assertEquals(0, matches[2]);
+        assertEquals(2, matches[0]);
+    }
+
+    @Test
+    void matchesNothingWithoutRepositoriesOrFilterNames() {
+        assertArrayEquals(new int[0], RepositoryNameMatcher.EMPTY.match(List.of("opt-soa")));
+        assertArrayEquals(new int[]{-1, -1}, new RepositoryNameMatcher(List.of("a", "b")).match(List.of()));
+    }
+
+    @Test
+    void agreesWithContainsLoopOnRandomNames() {
+        // A small alphabet makes overlapping and nested names common
+        Random random = new Random(26);
+        for (int round = 0; round < 500; round++) {
+            List<String> repositoryNames = randomNames(random, 1 + random.nextInt(12), true);
+            StringBuilder filter = new StringBuilder();
+            for (String name : randomNames(random, random.nextInt(8), false)) {
+                filter.append(random.nextInt(4) == 0 ? "\n" : "").append(name).append('\n');
+            }
+            assertSameAsContainsLoop(repositoryNames, filter.toString());
+        }
+    }
+
+    private static List<String> randomNames(Random random, int count, boolean mixedCase) {
+        String alphabet = mixedCase ? "abAB-" : "ab-";
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int c = 0; c < length; c++) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            names.add(name.toString());
+        }
+        return names;
+    }
+}
@@ -5,7 +5,11 @@ cd /d "%~dp0"
 echo Starting Repo Browser...
 echo.
 
-java -jar repo-browser.jar
+rem Use the class data sharing archive from "build.bat cds" when present
+set CDS_OPTS=
+if exist "repo-browser.jsa" set CDS_OPTS=-XX:SharedArchiveFile=repo-browser.jsa -Xshare:auto
+
+java %CDS_OPTS% -jar repo-browser.jar
 if %ERRORLEVEL% neq 0 (
     echo.
     echo ERROR: Failed to start the application